@@ -0,0 +1,69 @@
+package ng.darum.gateway.components;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The HMAC keys access tokens may be signed with, by kid, mirroring the key ring
+ * auth-service signs with: jwt.secret as the "default" kid plus any jwt.keys.&lt;kid&gt;.
+ * The set is built once and rebuilt after a config refresh, so keys can be added
+ * for a rotation without restarting. Tokens without a kid are tried against every key.
+ */
+@Component
+public class JwtKeySet implements JWKSource<SecurityContext> {
+
+    static final String DEFAULT_KID = "default";
+
+    private final Environment environment;
+    private volatile JWKSet keys;
+
+    public JwtKeySet(Environment environment) {
+        this.environment = environment;
+        this.keys = load();
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reloadKeys() {
+        this.keys = load();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) {
+        return selector.select(keys);
+    }
+
+    private JWKSet load() {
+        Map<String, String> secrets = new LinkedHashMap<>();
+        String secret = environment.getProperty("jwt.secret");
+        if (secret != null && !secret.isBlank()) {
+            secrets.put(DEFAULT_KID, secret);
+        }
+        secrets.putAll(Binder.get(environment)
+                .bind("jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()));
+
+        List<JWK> jwks = new ArrayList<>(secrets.size());
+        secrets.forEach((kid, value) -> jwks.add(new OctetSequenceKey.Builder(value.getBytes(StandardCharsets.UTF_8))
+                .keyID(kid)
+                .algorithm(JWSAlgorithm.HS256)
+                .build()));
+        return new JWKSet(jwks);
+    }
+}
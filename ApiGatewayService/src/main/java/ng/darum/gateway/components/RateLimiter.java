@@ -0,0 +1,76 @@
+package ng.darum.gateway.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ng.darum.gateway.config.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user token buckets, one per JWT subject, sized by the caller's role.
+ * Each bucket is a single AtomicLong holding the time at which it will be full
+ * again (GCRA), so a request costs one CAS and no lock. Buckets live in a
+ * bounded Caffeine map, which is striped internally; idle buckets are evicted
+ * after gateway.rate-limit.idle-timeout, by which time they would be full anyway.
+ * Rejections are counted in gateway.ratelimit.rejected (by role).
+ */
+@Component
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Cache<String, AtomicLong> buckets;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+    }
+
+    /**
+     * Takes one token from the subject's bucket.
+     * @return 0 when the request may proceed, otherwise the seconds to wait before retrying
+     */
+    public long tryAcquire(String subject, String role) {
+        RateLimitProperties.Limit limit = properties.limitFor(role);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRequestsPerSecond());
+        long tolerance = interval * limit.getBurst();
+        AtomicLong bucket = buckets.get(subject, key -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long fullAt = bucket.get();
+            long next = (fullAt == Long.MIN_VALUE || fullAt - now < 0 ? now : fullAt) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                Counter.builder("gateway.ratelimit.rejected")
+                        .tag("role", role == null ? "none" : role)
+                        .register(meterRegistry)
+                        .increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ng.darum.gateway.components;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Forwards the caller verified at the edge to downstream services as one signed
+ * header, so they can trust it instead of verifying the JWT again.
+ * X-Auth-Context is base64url("subject\nrole\nemployeeId\nexpiresAt") + "." +
+ * base64url(HMAC-SHA256 of those bytes under internal.auth.secret). It lives for
+ * internal.auth.ttl. The Authorization header is dropped when the context is
+ * attached, and an X-Auth-Context sent by the client is never passed on.
+ */
+public class TrustedClaimsFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Auth-Context";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final Mac prototype;
+    private final Duration ttl;
+    private final LongSupplier millisClock;
+
+    public TrustedClaimsFilter(String secret, Duration ttl) {
+        this(secret, ttl, System::currentTimeMillis);
+    }
+
+    TrustedClaimsFilter(String secret, Duration ttl, LongSupplier millisClock) {
+        this.ttl = ttl;
+        this.millisClock = millisClock;
+        try {
+            this.prototype = Mac.getInstance("HmacSHA256");
+            this.prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise internal auth signer", e);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String context = authentication instanceof JwtAuthenticationToken jwtAuthentication
+                ? encode(jwtAuthentication.getToken())
+                : null;
+        filterChain.doFilter(new TrustedRequest(request, context), response);
+    }
+
+    String encode(Jwt jwt) {
+        List<String> roles = jwt.getClaimAsStringList("role");
+        Object employeeId = jwt.getClaims().get("empId");
+        String payload = String.join("\n",
+                jwt.getSubject(),
+                roles == null || roles.isEmpty() ? "" : roles.get(0),
+                employeeId == null ? "" : employeeId.toString(),
+                Long.toString(millisClock.getAsLong() / 1000 + ttl.toSeconds()));
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(sign(bytes));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac is not thread-safe; a clone of the initialised prototype skips key setup
+            return ((Mac) prototype.clone()).doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 provider does not support cloning", e);
+        }
+    }
+
+    /** Replaces client-supplied identity headers with the gateway's own */
+    private static final class TrustedRequest extends HttpServletRequestWrapper {
+        private final String context;
+
+        TrustedRequest(HttpServletRequest request, String context) {
+            super(request);
+            this.context = context;
+        }
+
+        private boolean hidden(String name) {
+            return HEADER.equalsIgnoreCase(name)
+                    || (context != null && HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name));
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HEADER.equalsIgnoreCase(name)) {
+                return context;
+            }
+            return hidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HEADER.equalsIgnoreCase(name)) {
+                return context == null ? Collections.emptyEnumeration() : Collections.enumeration(List.of(context));
+            }
+            return hidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = new ArrayList<>();
+            for (String name : Collections.list(super.getHeaderNames())) {
+                if (!hidden(name)) {
+                    names.add(name);
+                }
+            }
+            if (context != null) {
+                names.add(HEADER);
+            }
+            return Collections.enumeration(names);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ng.darum.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads per-user rate limit properties (gateway.rate-limit.*).
+ * Limits are looked up by the caller's role, falling back to the default.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Limit defaultLimit = new Limit();
+    private Map<String, Limit> roles = new HashMap<>();
+    private long maxBuckets = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    public Limit limitFor(String role) {
+        return role == null ? defaultLimit : roles.getOrDefault(role, defaultLimit);
+    }
+
+    @Data
+    public static class Limit {
+        /** Sustained requests per second */
+        private double requestsPerSecond = 20;
+        /** Requests allowed at once on top of an idle bucket */
+        private int burst = 40;
+    }
+}
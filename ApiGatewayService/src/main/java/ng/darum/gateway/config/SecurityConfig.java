@@ -1,9 +1,17 @@
 package ng.darum.gateway.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import ng.darum.gateway.components.JwtKeySet;
+import ng.darum.gateway.components.RateLimitFilter;
+import ng.darum.gateway.components.RateLimiter;
+import ng.darum.gateway.components.TrustedClaimsFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,13 +20,14 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import javax.crypto.spec.SecretKeySpec;
-import java.util.List;import org.springframework.context.annotation.Bean;
+import java.time.Duration;
+import java.util.List;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
@@ -27,8 +36,21 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtGra
 @EnableWebSecurity
 public class SecurityConfig {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwtKeySet jwtKeySet;
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+
+    @Value("${internal.auth.secret:}")
+    private String internalSecret;
+
+    @Value("${internal.auth.ttl:30s}")
+    private Duration internalTtl;
+
+    public SecurityConfig(JwtKeySet jwtKeySet, RateLimiter rateLimiter, RateLimitProperties rateLimitProperties) {
+        this.jwtKeySet = jwtKeySet;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitProperties = rateLimitProperties;
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -45,15 +67,27 @@ public class SecurityConfig {
                                 .jwtAuthenticationConverter(jwtAuthenticationConverter())
                         )
                 );
+        // Limited per JWT subject before anything is proxied
+        if (rateLimitProperties.isEnabled()) {
+            http.addFilterAfter(new RateLimitFilter(rateLimiter), BearerTokenAuthenticationFilter.class);
+        }
+        // Verified once here; downstream services trust the signed X-Auth-Context instead
+        if (!internalSecret.isBlank()) {
+            http.addFilterAfter(new TrustedClaimsFilter(internalSecret, internalTtl), BearerTokenAuthenticationFilter.class);
+        }
 
         return http.build();
     }
 
+    // Selects the verification key by the token's kid (see JwtKeySet)
     @Bean
     public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder
-                .withSecretKey(new SecretKeySpec(secretKey.getBytes(), "HmacSHA256"))
-                .build();
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, jwtKeySet));
+        // Expiry and the other claim checks are left to the decoder's validators
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(processor);
     }
     @Bean
     public OpenAPI openApiWithJwt() {
@@ -67,11 +101,11 @@ public class SecurityConfig {
                 .addSecurityItem(new SecurityRequirement().addList("bearerAuth"));
     }
 
-    // 🔸 Tell Spring how to interpret 'roles' claim
+    // 🔸 Tell Spring how to interpret the 'role' claim
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtGrantedAuthoritiesConverter converter = new JwtGrantedAuthoritiesConverter();
-        converter.setAuthoritiesClaimName("roles"); // claim name in your JWT
+        converter.setAuthoritiesClaimName("role");  // claim name in your JWT
         converter.setAuthorityPrefix("ROLE_");      // add ROLE_ prefix automatically
 
         JwtAuthenticationConverter jwtConverter = new JwtAuthenticationConverter();
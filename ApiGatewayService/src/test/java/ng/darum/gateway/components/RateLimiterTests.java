@@ -0,0 +1,65 @@
+package ng.darum.gateway.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ng.darum.gateway.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setRequestsPerSecond(1);
+        properties.getDefaultLimit().setBurst(3);
+        RateLimitProperties.Limit admin = new RateLimitProperties.Limit();
+        admin.setRequestsPerSecond(10);
+        admin.setBurst(10);
+        properties.getRoles().put("ADMIN", admin);
+        rateLimiter = new RateLimiter(properties, meterRegistry, clock::get);
+    }
+
+    @Test
+    void testBurstIsAllowed_ThenRejectedWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("jane@company.com", "EMPLOYEE")).isZero();
+        }
+
+        assertThat(rateLimiter.tryAcquire("jane@company.com", "EMPLOYEE")).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.ratelimit.rejected").tag("role", "EMPLOYEE").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testTokensRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("jane@company.com", "EMPLOYEE");
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(rateLimiter.tryAcquire("jane@company.com", "EMPLOYEE")).isZero();
+        assertThat(rateLimiter.tryAcquire("jane@company.com", "EMPLOYEE")).isPositive();
+    }
+
+    @Test
+    void testBucketsArePerSubject_AndSizedByRole() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("jane@company.com", "EMPLOYEE");
+        }
+
+        assertThat(rateLimiter.tryAcquire("john@company.com", "EMPLOYEE")).isZero();
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("admin@company.com", "ADMIN")).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("admin@company.com", "ADMIN")).isPositive();
+    }
+}
@@ -0,0 +1,108 @@
+package ng.darum.gateway.components;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TrustedClaimsFilterTest {
+
+    private static final String SECRET = "internal-secret-for-tests-only-0123456789";
+
+    private static final Duration TTL = Duration.ofSeconds(300);
+
+    // Signed at 2099-12-31T23:55:00Z, so it expires at 2100-01-01T00:00:00Z (4102444800)
+    private static final long NOW_MILLIS = (4102444800L - TTL.toSeconds()) * 1000;
+
+    // The same header is accepted by employee-service's TrustedClaimsFilter (see its TrustedClaimsFilterTests)
+    private static final String CONTEXT =
+            "amFuZUBjb21wYW55LmNvbQpNQU5BR0VSCjQyCjQxMDI0NDQ4MDA.o799x6TZfPMBTsn3wUPapVRhkty4lTpgDRFOss4yeXo";
+
+    private final TrustedClaimsFilter filter = new TrustedClaimsFilter(SECRET, TTL, () -> NOW_MILLIS);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testAuthenticatedRequest_CarriesSignedContextInsteadOfAuthorization() throws Exception {
+        authenticate();
+        MockHttpServletRequest request = request();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(forwarded.getHeader(TrustedClaimsFilter.HEADER)).isEqualTo(CONTEXT);
+        assertThat(Collections.list(forwarded.getHeaders(TrustedClaimsFilter.HEADER))).containsExactly(CONTEXT);
+        assertThat(forwarded.getHeader(HttpHeaders.AUTHORIZATION)).isNull();
+        assertThat(Collections.list(forwarded.getHeaders(HttpHeaders.AUTHORIZATION))).isEmpty();
+        assertThat(Collections.list(forwarded.getHeaderNames()))
+                .doesNotContain(HttpHeaders.AUTHORIZATION)
+                .containsOnlyOnce(TrustedClaimsFilter.HEADER)
+                .contains("Accept");
+    }
+
+    @Test
+    void testClientSuppliedContext_IsNeverPassedOn() throws Exception {
+        MockHttpServletRequest request = request();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(forwarded.getHeader(TrustedClaimsFilter.HEADER)).isNull();
+        assertThat(Collections.list(forwarded.getHeaders(TrustedClaimsFilter.HEADER))).isEmpty();
+        assertThat(Collections.list(forwarded.getHeaderNames()))
+                .noneMatch(TrustedClaimsFilter.HEADER::equalsIgnoreCase);
+        // Without a verified caller the token is left for the downstream service to reject
+        assertThat(forwarded.getHeader(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer client-token");
+    }
+
+    @Test
+    void testHeaderNamesDifferingInCase_AreStillReplaced() throws Exception {
+        authenticate();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/1");
+        request.addHeader("x-auth-context", "forged");
+        request.addHeader("authorization", "Bearer client-token");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(forwarded.getHeader("x-auth-context")).isEqualTo(CONTEXT);
+        assertThat(forwarded.getHeader("authorization")).isNull();
+        assertThat(Collections.list(forwarded.getHeaderNames())).containsExactly(TrustedClaimsFilter.HEADER);
+    }
+
+    private static void authenticate() {
+        Jwt jwt = Jwt.withTokenValue("client-token")
+                .header("alg", "HS256")
+                .subject("jane@company.com")
+                .claim("role", List.of("MANAGER"))
+                .claim("empId", 42)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/1");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer client-token");
+        request.addHeader(TrustedClaimsFilter.HEADER, "forged.context");
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+}
@@ -2,27 +2,46 @@ package ng.darum.auth.components;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import ng.darum.auth.config.JwtProperties;
 import ng.darum.auth.enums.Role;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.GrantedAuthority;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
-import java.util.Arrays;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies access tokens.
+ * Keys are derived once per key ring and the parser is built once; minted tokens
+ * carry the active kid, and verification picks the key named by the token's kid.
+ * To rotate: add the new key under jwt.keys, switch jwt.active-kid, then
+ * POST /actuator/refresh. Remove the old key once its tokens have expired.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwtProperties properties;
+    private final JwtParser parser;
+    private volatile KeyRing keyRing;
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    public JwtUtil(JwtProperties properties) {
+        this.properties = properties;
+        this.keyRing = KeyRing.from(properties);
+        this.parser = Jwts.parser()
+                .keyLocator(header -> keyRing.verificationKey(header))
+                .build();
+    }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    /** Picks up key changes after the config server pushes a refresh */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void reloadKeys() {
+        this.keyRing = KeyRing.from(properties);
     }
 
     public String extractUsername(String token) {
@@ -34,11 +53,7 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
         return claimsResolver.apply(claims);
     }
 
@@ -48,26 +63,54 @@ public class JwtUtil {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
-    public String generateToken(String username, Role role) {
+    /**
+     * The employee id travels as the empId claim so the gateway can forward it
+     * downstream; it is omitted for users with no employee record.
+     */
+    public String generateToken(String username, Role role, Long employeeId) {
+        KeyRing ring = keyRing;
+        long now = System.currentTimeMillis();
 
         return Jwts.builder()
-                .setSubject(username)
-                .claim("role", Arrays.asList(role.getAuthority()))
-
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .header().keyId(ring.activeKid()).and()
+                .subject(username)
+                .claim("role", List.of(role.getAuthority()))
+                .claim("empId", employeeId)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + properties.getExpiration()))
+                .signWith(ring.signingKey(), Jwts.SIG.HS256)
                 .compact();
     }
-}
 
+    /** Immutable snapshot of the configured keys, swapped as a whole on refresh */
+    private record KeyRing(String activeKid, SecretKey signingKey, Map<String, SecretKey> keys) {
+
+        static KeyRing from(JwtProperties properties) {
+            Map<String, SecretKey> keys = new HashMap<>();
+            properties.keyRing().forEach((kid, secret) ->
+                    keys.put(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))));
+
+            SecretKey signingKey = keys.get(properties.getActiveKid());
+            if (signingKey == null) {
+                throw new IllegalStateException("No JWT key configured for active kid: " + properties.getActiveKid());
+            }
+            return new KeyRing(properties.getActiveKid(), signingKey, Map.copyOf(keys));
+        }
+
+        SecretKey verificationKey(Header header) {
+            String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+            SecretKey key = keys.get(kid == null ? JwtProperties.DEFAULT_KID : kid);
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown signing key: " + kid);
+            }
+            return key;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ng.darum.auth.components;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded pool so a
+ * login burst cannot occupy every request thread with BCrypt.
+ * When the queue is full, encode and matches fail at once with a
+ * RejectedExecutionException, which callers turn into 503 Service Unavailable.
+ * Background batches (event replay) hash on a separate pool, so a backlog never
+ * takes queue slots from logins.
+ * Metrics: auth.password.hash (timer, by operation), auth.password.hash.queue
+ * (gauge) and auth.password.hash.rejected (counter).
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor batchExecutor;
+    private final Duration timeout;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.hashing.threads:0}") int threads,
+                          @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${auth.hashing.timeout:5s}") Duration timeout,
+                          @Value("${auth.hashing.batch-threads:0}") int batchThreads) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        int processors = Runtime.getRuntime().availableProcessors();
+        int poolSize = threads > 0 ? threads : processors;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("password-hasher-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Half the cores by default so logins keep CPU; when it is busy the calling listener thread hashes
+        int batchPoolSize = batchThreads > 0 ? batchThreads : Math.max(1, processors / 2);
+        this.batchExecutor = new ThreadPoolExecutor(batchPoolSize, batchPoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchPoolSize), daemonThreads("password-batch-hasher-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hash.rejected").register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    public boolean matches(String rawPassword, String passHash) {
+        return await(submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, passHash))));
+    }
+
+    /**
+     * Encodes many passwords for background work (event replay) on the batch
+     * pool, hashing on the calling thread while that pool is full, so it never
+     * fails for lack of capacity. Null entries stay null.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> pending = new ArrayList<>(rawPasswords.size());
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            if (rawPassword == null) {
+                pending.add(null);
+                continue;
+            }
+            pending.add(batchExecutor.submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+        }
+        for (Future<String> future : pending) {
+            // No deadline here: background work waits for its own hashes rather than failing the batch
+            hashes.add(future == null ? null : await(future, null));
+        }
+        return hashes;
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new RejectedExecutionException("Too many sign-in requests, please retry shortly", e);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        return await(future, timeout);
+    }
+
+    private <T> T await(Future<T> future, Duration deadline) {
+        try {
+            return deadline == null ? future.get() : future.get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Too many sign-in requests, please retry shortly", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+}
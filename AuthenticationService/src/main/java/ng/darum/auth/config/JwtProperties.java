@@ -0,0 +1,37 @@
+package ng.darum.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads JWT-related properties from the config server.
+ * Signing keys are listed under jwt.keys.&lt;kid&gt;; jwt.active-kid picks the one
+ * new tokens are signed with. Without jwt.keys the single jwt.secret is used
+ * under the "default" kid, which is also how tokens without a kid are verified.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    public static final String DEFAULT_KID = "default";
+
+    private String secret;
+    private long expiration;
+    private String activeKid = DEFAULT_KID;
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    /** Every key that may verify a token, by kid */
+    public Map<String, String> keyRing() {
+        Map<String, String> ring = new LinkedHashMap<>();
+        if (secret != null && !secret.isBlank()) {
+            ring.put(DEFAULT_KID, secret);
+        }
+        ring.putAll(keys);
+        return ring;
+    }
+}
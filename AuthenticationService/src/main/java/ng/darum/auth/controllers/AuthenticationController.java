@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 public class AuthenticationController {
@@ -73,6 +74,11 @@ public class AuthenticationController {
         errorResponse.addDetail("operation", operation);
         errorResponse.addDetail("exceptionType", e.getClass().getSimpleName());
 
+        // Shed load cheaply: no stack trace, and tell the client when to come back
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
+        }
+
         // Log the error with all details
         logError(errorId, operation, path, e);
 
@@ -81,7 +87,9 @@ public class AuthenticationController {
 
     /** Determine HTTP status based on exception type */
     private HttpStatus determineHttpStatus(Exception e) {
-        if (e instanceof IllegalArgumentException) {
+        if (e instanceof RejectedExecutionException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (e instanceof IllegalArgumentException) {
             return HttpStatus.BAD_REQUEST;
         } else if (e instanceof RuntimeException) {
             String message = e.getMessage();
@@ -102,7 +110,9 @@ public class AuthenticationController {
 
     /** Determine error code based on exception and operation */
     private String determineErrorCode(Exception e, String operation) {
-        if (e instanceof IllegalArgumentException) {
+        if (e instanceof RejectedExecutionException) {
+            return "SERVICE_BUSY";
+        } else if (e instanceof IllegalArgumentException) {
             return "INVALID_INPUT";
         } else if (e instanceof RuntimeException) {
             String message = e.getMessage();
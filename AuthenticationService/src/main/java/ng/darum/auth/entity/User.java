@@ -17,9 +17,11 @@ public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Column(unique = true)
     private String email;
     private String passHash;
     private Role role;
+    @Column(unique = true)
     private Long empId;
 
 }
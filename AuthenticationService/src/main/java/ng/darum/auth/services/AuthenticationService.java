@@ -1,50 +1,71 @@
 package ng.darum.auth.services;
 
 import ng.darum.auth.components.JwtUtil;
+import ng.darum.auth.components.PasswordHasher;
 import ng.darum.auth.dto.*;
 import ng.darum.auth.entity.User;
 import ng.darum.auth.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Locale;
+
 @Service
 public class AuthenticationService {
     @Autowired
     UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Autowired
     JwtUtil jwtUtil;
 
+    // One insert: the unique constraints on email and emp_id reject duplicates,
+    // including two concurrent creates that an existence check would both let through
     @Transactional
     public UserResponse createUser(UserRequest request){
-        if(userRepository.existsByEmail(request.getEmail())){
-            throw new RuntimeException("User already exists with this email");
-        }
-
         User user = User.builder()
                 .email(request.getEmail())
                 .role(request.getRole())
                 .empId(request.getEmpId())
-                .passHash(passwordEncoder.encode(request.getPassword()))
+                .passHash(passwordHasher.encode(request.getPassword()))
                 .build();
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUser(e);
+        }
        return userToUserResponse(savedUser);
     }
 
+    private static DuplicateKeyException duplicateUser(DataIntegrityViolationException e) {
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        // by name, or by column where an older auto-DDL constraint under another name fired first
+        if (cause.contains("uk_users_emp_id") || cause.contains("(emp_id")) {
+            return new DuplicateKeyException("User already exists with this employee id", e);
+        }
+        return new DuplicateKeyException("User already exists with this email", e);
+    }
+
     public AuthResponse loginUser(UserRequest request){
+        // Reject malformed and unknown logins before any hashing work is queued
+        if(request.getEmail() == null || request.getEmail().isBlank()
+                || request.getPassword() == null || request.getPassword().isEmpty()){
+            throw new IllegalArgumentException("Email and password are required");
+        }
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("No user exists with the given email address"));
 
-        if(!passwordEncoder.matches(request.getPassword(), user.getPassHash())){
+        if(!passwordHasher.matches(request.getPassword(), user.getPassHash())){
             throw new RuntimeException("Incorrect password for user");
         }
 
-        String token =jwtUtil.generateToken(user.getEmail(),user.getRole());
+        String token =jwtUtil.generateToken(user.getEmail(),user.getRole(),user.getEmpId());
         return AuthResponse.builder()
                 .email(user.getEmail())
                 .id(user.getId())
@@ -84,7 +105,7 @@ public class AuthenticationService {
         }
 
         if(request.getPassword() != null && !request.getPassword().isEmpty()){
-            user.setPassHash(passwordEncoder.encode(request.getPassword()));
+            user.setPassHash(passwordHasher.encode(request.getPassword()));
             userUpdated = true;
         }
 
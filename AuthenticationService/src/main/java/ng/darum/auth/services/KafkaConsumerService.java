@@ -1,53 +1,57 @@
 package ng.darum.auth.services;
 
 import lombok.extern.slf4j.Slf4j;
-import ng.darum.auth.dto.UserRequest;
 import ng.darum.commons.dto.UserEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes user lifecycle events a whole poll at a time.
+ * Events are applied in record order in one transaction; offsets are
+ * committed once the batch returns, so a failed batch is redelivered as a whole.
+ */
 @Service
 @Slf4j
 public class KafkaConsumerService {
 
-    private final AuthenticationService authenticationService;
+    private final UserEventBatchService userEventBatchService;
 
-    public KafkaConsumerService(AuthenticationService authenticationService) {
-        this.authenticationService = authenticationService;
-    }
+    @Value("${employee.topic.name}")
+    private String createTopic;
 
-    @KafkaListener(topics = "${employee.topic.name}", groupId = "employee-group")
-    public void consumeCreate(UserEvent event) {
-        extracted(event);
-
-        UserRequest user = new UserRequest();
-        user.setEmpId(event.getId());
-        user.setEmail(event.getEmail());
-        user.setPassword(event.getPassword());
-        user.setRole(event.getRole());
-        authenticationService.createUser(user);
-        log.info("Employee record created for userId {}", event.getEmail());
-    }
-    @KafkaListener(topics = "${delete.topic.name}", groupId = "employee-group")
-    public void consumeDelete(UserEvent event) {
-        extracted(event);
-        authenticationService.deleteUser(event.getId());
-        log.info("User record deleted for user {}", event.getId());
-    }
-    @KafkaListener(topics = "${update.topic.name}", groupId = "employee-group")
-    public void consumeUpdate(UserEvent event) {
-        extracted(event);
-
-        UserRequest user = new UserRequest();
-        user.setEmpId(event.getId());
-        user.setEmail(event.getEmail());
-        user.setPassword(event.getPassword());
-        user.setRole(event.getRole());
-        authenticationService.updateUser(event.getId(), user);
+    @Value("${update.topic.name}")
+    private String updateTopic;
+
+    @Value("${delete.topic.name}")
+    private String deleteTopic;
+
+    public KafkaConsumerService(UserEventBatchService userEventBatchService) {
+        this.userEventBatchService = userEventBatchService;
     }
 
-    private static void extracted(UserEvent event) {
-        log.info("Received event: {}", event);
+    @KafkaListener(topics = {"${employee.topic.name}", "${update.topic.name}", "${delete.topic.name}"},
+            groupId = "employee-group", batch = "true")
+    public void consume(List<ConsumerRecord<String, UserEvent>> records) {
+        log.info("Received {} user events", records.size());
+
+        List<UserEventBatchService.Change> changes = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, UserEvent> record : records) {
+            UserEvent event = record.value();
+            if (event == null || event.getId() == null) {
+                log.warn("Skipping user event without an employee id at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            } else if (record.topic().equals(createTopic)) {
+                changes.add(new UserEventBatchService.Change(UserEventBatchService.Kind.CREATE, event));
+            } else if (record.topic().equals(updateTopic)) {
+                changes.add(new UserEventBatchService.Change(UserEventBatchService.Kind.UPDATE, event));
+            } else if (record.topic().equals(deleteTopic)) {
+                changes.add(new UserEventBatchService.Change(UserEventBatchService.Kind.DELETE, event));
+            }
+        }
+        userEventBatchService.apply(changes);
     }
 }
-
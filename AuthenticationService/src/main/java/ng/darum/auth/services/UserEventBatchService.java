@@ -0,0 +1,258 @@
+package ng.darum.auth.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import ng.darum.auth.components.PasswordHasher;
+import ng.darum.auth.enums.Role;
+import ng.darum.commons.dto.UserEvent;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies a poll's worth of user events with set-based statements in one transaction.
+ * Passwords are hashed before that transaction starts, so it only runs SQL.
+ * Every statement is idempotent, so replaying a topic from the start is safe:
+ * creates skip users that already exist, updates and deletes match by employee id.
+ * Events keep their record order. They are cut into stages in which no employee
+ * id or email is touched by two different kinds of event; a stage is applied as
+ * one delete, one update batch and one insert batch, in that order, so a user
+ * deleted and then re-created with the same email within a poll ends up present.
+ * Metric: user.events.create.skipped (creates dropped by a conflicting email).
+ */
+@Service
+@Slf4j
+public class UserEventBatchService {
+
+    public enum Kind { CREATE, UPDATE, DELETE }
+
+    public record Change(Kind kind, UserEvent event) {
+    }
+
+    private static final String INSERT_USER = """
+            insert into users (email, pass_hash, role, emp_id)
+            values (:email, :passHash, :role, :empId)
+            on conflict do nothing""";
+
+    // An email change that would clash with another user is skipped, as updateUser rejects it
+    private static final String UPDATE_USER = """
+            update users set
+                email = coalesce(:email, email),
+                role = coalesce(:role, role),
+                pass_hash = coalesce(:passHash, pass_hash)
+            where emp_id = :empId
+              and not exists (select 1 from users other where other.email = :email and other.emp_id <> :empId)""";
+
+    private static final String DELETE_USERS = "delete from users where emp_id in (:empIds)";
+
+    private static final String EXISTING_EMP_IDS = "select emp_id from users where emp_id in (:empIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter skippedCreates;
+
+    public UserEventBatchService(NamedParameterJdbcTemplate jdbcTemplate, PasswordHasher passwordHasher,
+                                 TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = transactionTemplate;
+        this.skippedCreates = Counter.builder("user.events.create.skipped").register(meterRegistry);
+    }
+
+    public void apply(List<Change> changes) {
+        List<Stage> stages = stages(changes);
+        if (stages.isEmpty()) {
+            return;
+        }
+        // BCrypt is slow, so every password in the poll is hashed before the transaction
+        // opens; otherwise its connection and row locks would be held for the whole hashing
+        Map<UserEvent, String> hashes = hashPasswords(stages);
+        int[] counts = transactionTemplate.execute(status -> {
+            int[] applied = new int[3];
+            for (Stage stage : stages) {
+                applied[2] += applyDeletes(stage.deletes);
+                applied[1] += applyUpdates(stage.updates, hashes);
+                applied[0] += applyCreates(stage.creates, hashes);
+            }
+            return applied;
+        });
+        log.info("Applied {} user events in {} stages: {} created, {} updated, {} deleted",
+                changes.size(), stages.size(), counts[0], counts[1], counts[2]);
+    }
+
+    private static List<Stage> stages(List<Change> changes) {
+        List<Stage> stages = new ArrayList<>();
+        Stage stage = new Stage();
+        for (Change change : changes) {
+            if (!stage.accepts(change)) {
+                stages.add(stage);
+                stage = new Stage();
+            }
+            stage.add(change);
+        }
+        if (!stage.isEmpty()) {
+            stages.add(stage);
+        }
+        return stages;
+    }
+
+    // Keyed by event identity; a create for a user that exists and is not deleted earlier in the poll is not hashed
+    private Map<UserEvent, String> hashPasswords(List<Stage> stages) {
+        Set<Long> createdEmpIds = new HashSet<>();
+        stages.forEach(stage -> createdEmpIds.addAll(stage.creates.keySet()));
+        Set<Long> existing = createdEmpIds.isEmpty() ? Set.of() : existingEmpIds(createdEmpIds);
+
+        List<UserEvent> toHash = new ArrayList<>();
+        Set<Long> deletedSoFar = new HashSet<>();
+        for (Stage stage : stages) {
+            deletedSoFar.addAll(stage.deletes);
+            for (UserEvent event : stage.creates.values()) {
+                if (!existing.contains(event.getId()) || deletedSoFar.contains(event.getId())) {
+                    toHash.add(event);
+                }
+            }
+            for (UserEvent event : stage.updates) {
+                if (event.getPassword() != null && !event.getPassword().isEmpty()) {
+                    toHash.add(event);
+                }
+            }
+        }
+        return encodeAll(toHash);
+    }
+
+    private Map<UserEvent, String> encodeAll(List<UserEvent> events) {
+        Map<UserEvent, String> hashes = new IdentityHashMap<>();
+        if (events.isEmpty()) {
+            return hashes;
+        }
+        List<String> encoded = passwordHasher.encodeAll(events.stream().map(UserEvent::getPassword).toList());
+        for (int i = 0; i < events.size(); i++) {
+            hashes.put(events.get(i), encoded.get(i));
+        }
+        return hashes;
+    }
+
+    private int applyCreates(Map<Long, UserEvent> creates, Map<UserEvent, String> hashes) {
+        if (creates.isEmpty()) {
+            return 0;
+        }
+        Set<Long> existing = existingEmpIds(creates.keySet());
+        List<UserEvent> missing = new ArrayList<>();
+        for (UserEvent event : creates.values()) {
+            if (!existing.contains(event.getId())) {
+                missing.add(event);
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        // Only a user deleted by someone else since the check above is still unhashed here
+        hashes.putAll(encodeAll(missing.stream().filter(event -> !hashes.containsKey(event)).toList()));
+        List<MapSqlParameterSource> rows = new ArrayList<>(missing.size());
+        for (UserEvent event : missing) {
+            rows.add(userParameters(event).addValue("passHash", hashes.get(event), Types.VARCHAR));
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, rows.toArray(MapSqlParameterSource[]::new));
+
+        // Batched row counts are not reliable across drivers, so look for the users that are still missing
+        Set<Long> inserted = existingEmpIds(missing.stream().map(UserEvent::getId).toList());
+        List<Long> skipped = missing.stream().map(UserEvent::getId).filter(id -> !inserted.contains(id)).toList();
+        if (!skipped.isEmpty()) {
+            skippedCreates.increment(skipped.size());
+            log.warn("Skipped creating users for employees {}: their email belongs to another user", skipped);
+        }
+        return inserted.size();
+    }
+
+    private int applyUpdates(List<UserEvent> updates, Map<UserEvent, String> hashes) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        List<MapSqlParameterSource> rows = new ArrayList<>(updates.size());
+        for (UserEvent event : updates) {
+            rows.add(userParameters(event).addValue("passHash", hashes.get(event), Types.VARCHAR));
+        }
+        return sum(jdbcTemplate.batchUpdate(UPDATE_USER, rows.toArray(MapSqlParameterSource[]::new)));
+    }
+
+    private int applyDeletes(Set<Long> empIds) {
+        if (empIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE_USERS, new MapSqlParameterSource("empIds", empIds));
+    }
+
+    private Set<Long> existingEmpIds(Collection<Long> empIds) {
+        return new HashSet<>(jdbcTemplate.queryForList(EXISTING_EMP_IDS,
+                new MapSqlParameterSource("empIds", empIds), Long.class));
+    }
+
+    // Role is stored by ordinal, as mapped on the User entity
+    private static MapSqlParameterSource userParameters(UserEvent event) {
+        Role role = event.getRole();
+        return new MapSqlParameterSource()
+                .addValue("empId", event.getId(), Types.BIGINT)
+                .addValue("email", event.getEmail(), Types.VARCHAR)
+                .addValue("role", role == null ? null : (short) role.ordinal(), Types.SMALLINT);
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Events that can be applied as one set-based statement per kind without
+     * changing the outcome: each employee id and email is touched by one kind only.
+     * Repeats of one kind keep their order (updates) or collapse (creates, deletes).
+     */
+    private static final class Stage {
+        private final Map<Long, UserEvent> creates = new LinkedHashMap<>();
+        private final List<UserEvent> updates = new ArrayList<>();
+        private final Set<Long> deletes = new LinkedHashSet<>();
+        private final Map<Long, Kind> byEmpId = new HashMap<>();
+        private final Map<String, Kind> byEmail = new HashMap<>();
+
+        boolean accepts(Change change) {
+            UserEvent event = change.event();
+            return byEmpId.getOrDefault(event.getId(), change.kind()) == change.kind()
+                    && (event.getEmail() == null || byEmail.getOrDefault(event.getEmail(), change.kind()) == change.kind());
+        }
+
+        void add(Change change) {
+            UserEvent event = change.event();
+            byEmpId.put(event.getId(), change.kind());
+            if (event.getEmail() != null) {
+                byEmail.put(event.getEmail(), change.kind());
+            }
+            switch (change.kind()) {
+                case CREATE -> creates.putIfAbsent(event.getId(), event);
+                case UPDATE -> updates.add(event);
+                case DELETE -> deletes.add(event.getId());
+            }
+        }
+
+        boolean isEmpty() {
+            return byEmpId.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- The users table as Hibernate auto-DDL used to create it, with its unique
+-- constraints named. Databases created that way are baselined at version 0,
+-- so this script runs against them too and leaves the existing table alone.
+--
+-- uk_users_email serves existsByEmail and findByEmail;
+-- uk_users_emp_id serves findByEmpId and the event batch updates and deletes.
+
+create table if not exists users (
+    id bigint generated by default as identity,
+    email varchar(255),
+    pass_hash varchar(255),
+    role smallint check (role between 0 and 2),
+    emp_id bigint,
+    primary key (id),
+    constraint uk_users_email unique (email),
+    constraint uk_users_emp_id unique (emp_id)
+);
@@ -0,0 +1,9 @@
+-- V1 names the unique constraints inside "create table if not exists", so a
+-- database baselined from auto-DDL, where the table already existed, never got
+-- them. Add them as unique indexes under the same names; where V1 created the
+-- constraints, their indexes already carry these names and nothing changes.
+-- Duplicate emails or employee ids have to be merged before upgrading.
+
+create unique index if not exists uk_users_email on users (email);
+
+create unique index if not exists uk_users_emp_id on users (emp_id);
@@ -0,0 +1,93 @@
+package ng.darum.auth.components;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import ng.darum.auth.config.JwtProperties;
+import ng.darum.auth.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String OLD_SECRET = "abcdefghijklmnopqrstuvxyz1234567890";
+    private static final String NEW_SECRET = "0987654321zyxvutsrqponmlkjihgfedcba";
+
+    private JwtProperties properties;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret(OLD_SECRET);
+        properties.setExpiration(60_000);
+        jwtUtil = new JwtUtil(properties);
+    }
+
+    @Test
+    void testGenerateToken_CarriesActiveKid_AndValidates() {
+        String token = jwtUtil.generateToken("jane@company.com", Role.MANAGER, 42L);
+
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("jane@company.com");
+        assertThat(kidOf(token)).isEqualTo(JwtProperties.DEFAULT_KID);
+    }
+
+    @Test
+    void testReloadKeys_SignsWithNewKid_AndStillAcceptsOldTokens() {
+        String oldToken = jwtUtil.generateToken("jane@company.com", Role.MANAGER, 42L);
+
+        properties.getKeys().put("2026-10", NEW_SECRET);
+        properties.setActiveKid("2026-10");
+        jwtUtil.reloadKeys();
+        String newToken = jwtUtil.generateToken("jane@company.com", Role.MANAGER, 42L);
+
+        assertThat(kidOf(newToken)).isEqualTo("2026-10");
+        assertThat(jwtUtil.validateToken(newToken)).isTrue();
+        assertThat(jwtUtil.validateToken(oldToken)).isTrue();
+    }
+
+    @Test
+    void testValidateToken_AcceptsTokensIssuedWithoutKid() {
+        String legacyToken = Jwts.builder()
+                .subject("jane@company.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(OLD_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThat(jwtUtil.validateToken(legacyToken)).isTrue();
+    }
+
+    @Test
+    void testValidateToken_RejectsUnknownKid() {
+        properties.getKeys().put("retired", NEW_SECRET);
+        properties.setActiveKid("retired");
+        jwtUtil.reloadKeys();
+        String token = jwtUtil.generateToken("jane@company.com", Role.MANAGER, 42L);
+
+        properties.getKeys().clear();
+        properties.setActiveKid(JwtProperties.DEFAULT_KID);
+        jwtUtil.reloadKeys();
+
+        assertThat(jwtUtil.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void testReloadKeys_KeepsCurrentKeys_WhenActiveKidIsMissing() {
+        properties.setActiveKid("missing");
+
+        assertThatThrownBy(() -> jwtUtil.reloadKeys()).isInstanceOf(IllegalStateException.class);
+        assertThat(jwtUtil.validateToken(jwtUtil.generateToken("jane@company.com", Role.MANAGER, 42L))).isTrue();
+    }
+
+    private String kidOf(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        return header.replaceAll(".*\"kid\":\"([^\"]*)\".*", "$1");
+    }
+}
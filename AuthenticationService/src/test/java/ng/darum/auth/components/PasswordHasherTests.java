@@ -0,0 +1,77 @@
+package ng.darum.auth.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void testEncode_ReturnsHash_AndRecordsLatency() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode("secret")).thenReturn("hashed");
+        passwordHasher = new PasswordHasher(encoder, meterRegistry, 1, 1, Duration.ofSeconds(5), 1);
+
+        assertThat(passwordHasher.encode("secret")).isEqualTo("hashed");
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testMatches_IsRejectedAtOnce_WhenQueueIsFull() throws Exception {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        CountDownLatch started = new CountDownLatch(1);
+        when(encoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        passwordHasher = new PasswordHasher(encoder, meterRegistry, 1, 1, Duration.ofSeconds(5), 1);
+
+        // One verification running, one queued: the pool is saturated
+        CompletableFuture.runAsync(() -> passwordHasher.matches("a", "hash"));
+        started.await();
+        CompletableFuture.runAsync(() -> passwordHasher.matches("b", "hash"));
+        while (meterRegistry.get("auth.password.hash.queue").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> passwordHasher.matches("c", "hash"))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testEncodeAll_RunsOffTheLoginPool() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(invocation -> Thread.currentThread().getName());
+        passwordHasher = new PasswordHasher(encoder, meterRegistry, 1, 1, Duration.ofSeconds(5), 1);
+
+        List<String> hashes = passwordHasher.encodeAll(Arrays.asList("a", null, "b", "c", "d"));
+
+        assertThat(hashes).hasSize(5).containsNull();
+        assertThat(hashes).filteredOn(Objects::nonNull).noneMatch(thread -> thread.startsWith("password-hasher-"));
+    }
+}
@@ -0,0 +1,108 @@
+package ng.darum.auth.repository;
+
+import ng.darum.auth.entity.User;
+import ng.darum.auth.enums.Role;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the schema built by the Flyway migrations and checks that the
+ * email and employee id lookups are served by their unique indexes, by
+ * explaining the SQL each finder actually sends.
+ */
+@DataJpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturedStatements capturedStatements;
+
+    @Test
+    void testFinders_ShouldReturnSavedUser() {
+        // Arrange
+        userRepository.save(User.builder().email("user@company.com").passHash("hash").role(Role.EMPLOYEE).empId(7L).build());
+
+        // Act & Assert
+        assertThat(userRepository.existsByEmail("user@company.com")).isTrue();
+        assertThat(userRepository.findByEmail("user@company.com")).get().extracting(User::getEmpId).isEqualTo(7L);
+        assertThat(userRepository.findByEmpId(7L)).get().extracting(User::getRole).isEqualTo(Role.EMPLOYEE);
+    }
+
+    @Test
+    void testEmailLookup_ShouldUseEmailIndex() {
+        // Derived exists queries are limited to one row
+        assertUsesIndex(() -> userRepository.existsByEmail("user@company.com"), "UK_USERS_EMAIL", "user@company.com", 1);
+        assertUsesIndex(() -> userRepository.findByEmail("user@company.com"), "UK_USERS_EMAIL", "user@company.com");
+    }
+
+    @Test
+    void testEmpIdLookup_ShouldUseEmpIdIndex() {
+        assertUsesIndex(() -> userRepository.findByEmpId(7L), "UK_USERS_EMP_ID", 7L);
+    }
+
+    // Runs the finder, then explains the one select it sent with the given arguments bound in order
+    private void assertUsesIndex(Runnable finder, String index, Object... arguments) {
+        capturedStatements.clear();
+        finder.run();
+        List<String> statements = capturedStatements.statements();
+        assertThat(statements).as("statements sent by the finder").hasSize(1);
+        String sql = statements.get(0);
+        assertThat(sql.chars().filter(c -> c == '?').count()).as("parameters of %s", sql).isEqualTo(arguments.length);
+
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, arguments);
+        assertThat(plan)
+                .as("plan for %s", sql)
+                .contains(index)
+                .doesNotContain("tableScan");
+    }
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        CapturedStatements capturedStatements() {
+            return new CapturedStatements();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(CapturedStatements capturedStatements) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturedStatements);
+        }
+    }
+
+    // Sees every statement Hibernate prepares and passes it on unchanged
+    static class CapturedStatements implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        synchronized List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        synchronized void clear() {
+            statements.clear();
+        }
+    }
+}
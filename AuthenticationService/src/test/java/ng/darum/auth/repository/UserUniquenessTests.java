@@ -0,0 +1,145 @@
+package ng.darum.auth.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import ng.darum.auth.components.PasswordHasher;
+import ng.darum.auth.entity.User;
+import ng.darum.auth.enums.Role;
+import ng.darum.auth.services.UserEventBatchService;
+import ng.darum.commons.dto.UserEvent;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent creates of the same user against the Flyway schema, in H2's
+ * PostgreSQL mode so the event consumer's "on conflict do nothing" runs as on Postgres.
+ * Not transactional: every create commits on its own, as concurrent requests would.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-uniqueness;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserUniquenessTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCreate_ShouldBeOneInsert() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        userRepository.saveAndFlush(user(7L));
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentCreates_ShouldKeepOneUser() throws Exception {
+        // Act
+        List<Throwable> failures = race(() -> userRepository.saveAndFlush(user(7L)));
+
+        // Assert
+        assertThat(userRepository.count()).isEqualTo(1);
+        assertThat(failures).hasSize(THREADS - 1).allMatch(DataIntegrityViolationException.class::isInstance);
+    }
+
+    @Test
+    void testConcurrentCreateEvents_ShouldInsertOnceWithoutFailing() throws Exception {
+        // Arrange
+        PasswordHasher passwordHasher = mock(PasswordHasher.class);
+        when(passwordHasher.encodeAll(anyList())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(password -> "hash").toList());
+        UserEventBatchService batchService = new UserEventBatchService(jdbcTemplate, passwordHasher,
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+        UserEvent created = UserEvent.builder().id(7L).email("user@company.com").password("secret").role(Role.EMPLOYEE).build();
+
+        // Act
+        List<Throwable> failures = race(() -> {
+            batchService.apply(List.of(new UserEventBatchService.Change(UserEventBatchService.Kind.CREATE, created)));
+            return null;
+        });
+
+        // Assert
+        assertThat(failures).isEmpty();
+        assertThat(userRepository.count()).isEqualTo(1);
+        assertThat(userRepository.findByEmpId(7L)).get().extracting(User::getEmail).isEqualTo("user@company.com");
+    }
+
+    private static User user(Long empId) {
+        return User.builder().email("user@company.com").passHash("hash").role(Role.EMPLOYEE).empId(empId).build();
+    }
+
+    // Runs the create on every thread at once and returns the failures
+    private static List<Throwable> race(Callable<?> create) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return create.call();
+                }));
+            }
+            start.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
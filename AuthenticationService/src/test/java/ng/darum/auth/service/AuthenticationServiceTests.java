@@ -1,6 +1,7 @@
 package ng.darum.auth.service;
 
 import ng.darum.auth.components.JwtUtil;
+import ng.darum.auth.components.PasswordHasher;
 import ng.darum.auth.dto.*;
 import ng.darum.auth.entity.User;
 import ng.darum.auth.enums.Role;
@@ -9,7 +10,8 @@ import ng.darum.auth.services.AuthenticationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.util.Optional;
 
@@ -25,7 +27,7 @@ class AuthenticationServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtUtil jwtUtil;
@@ -56,9 +58,8 @@ class AuthenticationServiceTest {
     // --------------------------------------------
     @Test
     void testCreateUser_SuccessfullyCreatesUser() {
-        when(userRepository.existsByEmail(mockRequest.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(mockRequest.getPassword())).thenReturn("encodedPass");
-        when(userRepository.save(any(User.class))).thenReturn(mockUser);
+        when(passwordHasher.encode(mockRequest.getPassword())).thenReturn("encodedPass");
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(mockUser);
 
         UserResponse response = authenticationService.createUser(mockRequest);
 
@@ -66,18 +67,30 @@ class AuthenticationServiceTest {
         assertThat(response.getEmail()).isEqualTo("john@example.com");
         assertThat(response.getRole()).isEqualTo(Role.ADMIN);
 
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByEmail(any());
     }
 
     @Test
     void testCreateUser_ThrowsError_WhenUserAlreadyExists() {
-        when(userRepository.existsByEmail(mockRequest.getEmail())).thenReturn(true);
+        when(passwordHasher.encode(mockRequest.getPassword())).thenReturn("encodedPass");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("constraint [uk_users_email]"));
 
         assertThatThrownBy(() -> authenticationService.createUser(mockRequest))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("User already exists");
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessage("User already exists with this email");
+    }
+
+    @Test
+    void testCreateUser_ThrowsError_WhenEmployeeIdAlreadyHasUser() {
+        when(passwordHasher.encode(mockRequest.getPassword())).thenReturn("encodedPass");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("constraint [UK_USERS_EMP_ID]"));
 
-        verify(userRepository, never()).save(any());
+        assertThatThrownBy(() -> authenticationService.createUser(mockRequest))
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessage("User already exists with this employee id");
     }
 
     // --------------------------------------------
@@ -86,8 +99,8 @@ class AuthenticationServiceTest {
     @Test
     void testLoginUser_SuccessfulLogin_ReturnsAuthResponse() {
         when(userRepository.findByEmail(mockRequest.getEmail())).thenReturn(Optional.of(mockUser));
-        when(passwordEncoder.matches(mockRequest.getPassword(), mockUser.getPassHash())).thenReturn(true);
-        when(jwtUtil.generateToken(mockUser.getEmail(), mockUser.getRole())).thenReturn("mockToken");
+        when(passwordHasher.matches(mockRequest.getPassword(), mockUser.getPassHash())).thenReturn(true);
+        when(jwtUtil.generateToken(mockUser.getEmail(), mockUser.getRole(), mockUser.getEmpId())).thenReturn("mockToken");
 
         AuthResponse response = authenticationService.loginUser(mockRequest);
 
@@ -105,10 +118,20 @@ class AuthenticationServiceTest {
                 .hasMessageContaining("No user exists");
     }
 
+    @Test
+    void testLoginUser_RejectsBlankPassword_WithoutHashing() {
+        UserRequest blank = UserRequest.builder().email("john@example.com").password("").build();
+
+        assertThatThrownBy(() -> authenticationService.loginUser(blank))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(userRepository, passwordHasher);
+    }
+
     @Test
     void testLoginUser_ThrowsError_WhenPasswordIncorrect() {
         when(userRepository.findByEmail(mockRequest.getEmail())).thenReturn(Optional.of(mockUser));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(false);
 
         assertThatThrownBy(() -> authenticationService.loginUser(mockRequest))
                 .isInstanceOf(RuntimeException.class)
@@ -145,7 +168,7 @@ class AuthenticationServiceTest {
     void testUpdateUser_ChangesEmailAndPassword() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
         when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
-        when(passwordEncoder.encode("newpass")).thenReturn("encodedPass");
+        when(passwordHasher.encode("newpass")).thenReturn("encodedPass");
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
 
         UserRequest updateRequest = UserRequest.builder()
@@ -0,0 +1,199 @@
+package ng.darum.auth.service;
+
+import ng.darum.auth.components.PasswordHasher;
+import ng.darum.auth.enums.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ng.darum.auth.services.UserEventBatchService;
+import ng.darum.auth.services.UserEventBatchService.Change;
+import ng.darum.auth.services.UserEventBatchService.Kind;
+import ng.darum.commons.dto.UserEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserEventBatchServiceTest {
+
+    @InjectMocks
+    private UserEventBatchService userEventBatchService;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Captor
+    private ArgumentCaptor<SqlParameterSource[]> rowsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static UserEvent event(long empId, String email) {
+        return UserEvent.builder().id(empId).email(email).password("secret" + empId).role(Role.EMPLOYEE).build();
+    }
+
+    private static Change create(UserEvent event) {
+        return new Change(Kind.CREATE, event);
+    }
+
+    private static Change update(UserEvent event) {
+        return new Change(Kind.UPDATE, event);
+    }
+
+    private static Change delete(long empId) {
+        return new Change(Kind.DELETE, UserEvent.builder().id(empId).build());
+    }
+
+    // --------------------------------------------
+    // CREATES
+    // --------------------------------------------
+    @Test
+    void testApply_SkipsExistingAndRedeliveredCreatesBeforeHashing() {
+        when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(1L, 2L));
+        when(passwordHasher.encodeAll(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream().map(p -> "hashed").toList());
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenReturn(new int[]{1});
+
+        userEventBatchService.apply(List.of(
+                create(event(1L, "old@example.com")), create(event(2L, "new@example.com")), create(event(2L, "new@example.com"))));
+
+        verify(passwordHasher, times(1)).encodeAll(List.of("secret2"));
+        verify(jdbcTemplate).batchUpdate(contains("insert into users"), rowsCaptor.capture());
+        assertThat(rowsCaptor.getValue()).hasSize(1);
+        assertThat(((MapSqlParameterSource) rowsCaptor.getValue()[0]).getValue("empId")).isEqualTo(2L);
+        assertThat(((MapSqlParameterSource) rowsCaptor.getValue()[0]).getValue("passHash")).isEqualTo("hashed");
+    }
+
+    @Test
+    void testApply_HashesEveryPasswordBeforeTheTransactionOpens() {
+        when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of(1L));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenReturn(new int[]{1});
+        when(passwordHasher.encodeAll(anyList())).thenReturn(List.of("hashed1", "hashed2"));
+
+        userEventBatchService.apply(List.of(create(event(1L, "new@example.com")), update(event(2L, "old@example.com"))));
+
+        InOrder inOrder = inOrder(passwordHasher, transactionTemplate);
+        inOrder.verify(passwordHasher).encodeAll(List.of("secret1", "secret2"));
+        inOrder.verify(transactionTemplate).execute(any());
+        verifyNoMoreInteractions(passwordHasher);
+    }
+
+    @Test
+    void testApply_HashesCreateOfExistingUserDeletedEarlierInThePoll() {
+        when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of())
+                .thenReturn(List.of(1L));
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+        when(passwordHasher.encodeAll(anyList())).thenReturn(List.of("hashed"));
+
+        userEventBatchService.apply(List.of(delete(1L), create(event(1L, "back@example.com"))));
+
+        verify(passwordHasher, times(1)).encodeAll(List.of("secret1"));
+        verify(jdbcTemplate).batchUpdate(contains("insert into users"), rowsCaptor.capture());
+        assertThat(((MapSqlParameterSource) rowsCaptor.getValue()[0]).getValue("passHash")).isEqualTo("hashed");
+    }
+
+    // --------------------------------------------
+    // UPDATES AND DELETES
+    // --------------------------------------------
+    @Test
+    void testApply_BatchesUpdatesAndDeletesInOneStatementEach() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenReturn(new int[]{1, 1});
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(2);
+        when(passwordHasher.encodeAll(anyList())).thenReturn(List.of("hashed"));
+
+        UserEvent roleOnly = UserEvent.builder().id(3L).role(Role.MANAGER).build();
+        userEventBatchService.apply(List.of(
+                update(roleOnly), update(event(4L, "renamed@example.com")), delete(5L), delete(6L)));
+
+        verify(jdbcTemplate).batchUpdate(contains("update users"), rowsCaptor.capture());
+        assertThat(rowsCaptor.getValue()).hasSize(2);
+        assertThat(((MapSqlParameterSource) rowsCaptor.getValue()[0]).getValue("passHash")).isNull();
+        assertThat(((MapSqlParameterSource) rowsCaptor.getValue()[1]).getValue("passHash")).isEqualTo("hashed");
+        verify(passwordHasher).encodeAll(List.of("secret4"));
+        verify(jdbcTemplate, times(1)).update(contains("delete from users"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void testApply_DoesNothing_WhenBatchIsEmpty() {
+        userEventBatchService.apply(List.of());
+
+        verifyNoInteractions(jdbcTemplate, passwordHasher, transactionTemplate);
+    }
+
+    // --------------------------------------------
+    // RECORD ORDER
+    // --------------------------------------------
+    @Test
+    void testApply_DeleteThenCreateWithSameEmail_ShouldDeleteBeforeInserting() {
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class))).thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of(2L));
+        when(passwordHasher.encodeAll(anyList())).thenReturn(List.of("hashed"));
+
+        userEventBatchService.apply(List.of(delete(1L), create(event(2L, "reused@example.com"))));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(contains("delete from users"), any(SqlParameterSource.class));
+        inOrder.verify(jdbcTemplate).batchUpdate(contains("insert into users"), any(SqlParameterSource[].class));
+    }
+
+    @Test
+    void testApply_CreateThenDeleteOfSameEmployee_ShouldRunInRecordOrder() {
+        when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(List.of(1L));
+        when(passwordHasher.encodeAll(anyList())).thenReturn(List.of("hashed"));
+
+        userEventBatchService.apply(List.of(create(event(1L, "gone@example.com")), delete(1L)));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(contains("insert into users"), any(SqlParameterSource[].class));
+        inOrder.verify(jdbcTemplate).update(contains("delete from users"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void testApply_CountsCreatesSkippedByConflict() {
+        when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of());
+        when(passwordHasher.encodeAll(anyList())).thenReturn(List.of("hashed"));
+
+        userEventBatchService.apply(List.of(create(event(2L, "taken@example.com"))));
+
+        assertThat(meterRegistry.get("user.events.create.skipped").counter().count()).isEqualTo(1);
+    }
+}
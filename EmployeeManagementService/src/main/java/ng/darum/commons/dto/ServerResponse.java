@@ -2,6 +2,7 @@ package ng.darum.commons.dto;
 
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
@@ -15,5 +16,7 @@ public class ServerResponse<T> {
     private T data;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSZ")
     private ZonedDateTime timestamp;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
 }
@@ -1,11 +1,10 @@
 package ng.darum.commons.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanWrapperImpl;
+import ng.darum.commons.util.PropertyCopier;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -162,23 +161,6 @@ public abstract class DefaultService<
      * Copies all non-null fields from src → target.
      */
     protected void copyNonNullProperties(Object src, Object target) {
-        try {
-            final BeanWrapperImpl srcWrap = new BeanWrapperImpl(src);
-            final BeanWrapperImpl trgWrap = new BeanWrapperImpl(target);
-
-            Arrays.stream(srcWrap.getPropertyDescriptors()).forEach(pd -> {
-                String name = pd.getName();
-                if ("class".equals(name)) return;
-                Object value = srcWrap.getPropertyValue(name);
-                if (value != null && trgWrap.isWritableProperty(name)) {
-                    trgWrap.setPropertyValue(name, value);
-                }
-            });
-
-        } catch (Exception e) {
-            log.error("Error copying properties", e);
-            throw new RuntimeException("Failed to copy properties: " + e.getMessage(), e);
-        }
+        PropertyCopier.copyNonNull(src, target);
     }
 }
-
@@ -0,0 +1,145 @@
+package ng.darum.commons.util;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * PropertyCopier - copies non-null bean properties without per-call reflection
+ * -----------------------------------------------------
+ * The first copy between a (source, target) class pair introspects both classes
+ * once and binds each matching getter/setter pair to a lambda through
+ * LambdaMetafactory. The resulting plan is cached per class pair, so later
+ * copies are plain interface calls and allocate nothing.
+ *
+ *  A property is copied when the source has a getter, the target has a setter
+ *  with the same name, and the getter's type can be assigned to the setter's.
+ *
+ *  Example:
+ *  PropertyCopier.copyNonNull(employeeRequest, employee);
+ */
+public final class PropertyCopier {
+
+    private static final ClassValue<ClassValue<Plan>> PLANS = new ClassValue<>() {
+        @Override
+        protected ClassValue<Plan> computeValue(Class<?> sourceType) {
+            return new ClassValue<>() {
+                @Override
+                protected Plan computeValue(Class<?> targetType) {
+                    return Plan.build(sourceType, targetType);
+                }
+            };
+        }
+    };
+
+    private PropertyCopier() {
+    }
+
+    /**
+     * Copies all non-null properties from src → target.
+     */
+    public static void copyNonNull(Object src, Object target) {
+        PLANS.get(src.getClass()).get(target.getClass()).copy(src, target);
+    }
+
+    /** Getter/setter pairs shared by one source and one target class */
+    private static final class Plan {
+        private final Function<Object, Object>[] getters;
+        private final BiConsumer<Object, Object>[] setters;
+
+        private Plan(Function<Object, Object>[] getters, BiConsumer<Object, Object>[] setters) {
+            this.getters = getters;
+            this.setters = setters;
+        }
+
+        void copy(Object src, Object target) {
+            for (int i = 0; i < getters.length; i++) {
+                Object value = getters[i].apply(src);
+                if (value != null) {
+                    setters[i].accept(target, value);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        static Plan build(Class<?> sourceType, Class<?> targetType) {
+            try {
+                Map<String, Method> writers = new HashMap<>();
+                for (PropertyDescriptor pd : describe(targetType)) {
+                    if (pd.getWriteMethod() != null) {
+                        writers.put(pd.getName(), pd.getWriteMethod());
+                    }
+                }
+
+                List<Function<Object, Object>> getters = new ArrayList<>();
+                List<BiConsumer<Object, Object>> setters = new ArrayList<>();
+                for (PropertyDescriptor pd : describe(sourceType)) {
+                    Method reader = pd.getReadMethod();
+                    Method writer = writers.get(pd.getName());
+                    if ("class".equals(pd.getName()) || reader == null || writer == null) {
+                        continue;
+                    }
+                    Class<?> valueType = wrap(reader.getReturnType());
+                    if (!wrap(writer.getParameterTypes()[0]).isAssignableFrom(valueType)) {
+                        continue;
+                    }
+                    getters.add(getter(reader));
+                    setters.add(setter(writer));
+                }
+                return new Plan(getters.toArray(Function[]::new), setters.toArray(BiConsumer[]::new));
+            } catch (Throwable e) {
+                throw new RuntimeException("Failed to copy properties: " + e.getMessage(), e);
+            }
+        }
+
+        private static PropertyDescriptor[] describe(Class<?> type) throws IntrospectionException {
+            BeanInfo info = Introspector.getBeanInfo(type);
+            return info.getPropertyDescriptors();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> getter(Method reader) throws Throwable {
+            MethodHandles.Lookup lookup = lookupFor(reader.getDeclaringClass());
+            MethodHandle handle = lookup.unreflect(reader);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(wrap(reader.getReturnType()), reader.getDeclaringClass()));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static BiConsumer<Object, Object> setter(Method writer) throws Throwable {
+            MethodHandles.Lookup lookup = lookupFor(writer.getDeclaringClass());
+            MethodHandle handle = lookup.unreflect(writer);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    MethodType.methodType(void.class, writer.getDeclaringClass(), wrap(writer.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        }
+
+        private static MethodHandles.Lookup lookupFor(Class<?> type) throws IllegalAccessException {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        }
+
+        private static Class<?> wrap(Class<?> type) {
+            return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ng.darum.employee.component;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The caller of the current request, read from the Authentication that the
+ * resource server already built from the verified JWT.
+ * Email is the token subject; role is the first ROLE_ authority, as mapped
+ * from the "role" claim by SecurityConfig. Neither re-parses the token.
+ * The employee id comes from the empId claim, or from the details set by
+ * TrustedClaimsFilter on the gateway fast path; it is null for older tokens.
+ */
+@Component
+@RequestScope
+public class AuthenticatedUser {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private String email;
+    private String role;
+    private Long employeeId;
+
+    public String getEmail() {
+        resolve();
+        return email;
+    }
+
+    public String getRole() {
+        resolve();
+        return role;
+    }
+
+    public Long getEmployeeId() {
+        resolve();
+        return employeeId;
+    }
+
+    public boolean hasRole(String expected) {
+        return expected.equalsIgnoreCase(getRole());
+    }
+
+    private void resolve() {
+        if (email != null) {
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AccessDeniedException("Access Denied");
+        }
+        role = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .findFirst()
+                .orElse("");
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            Object claim = jwtAuthentication.getToken().getClaims().get("empId");
+            employeeId = claim instanceof Number number ? number.longValue() : null;
+        } else if (authentication.getDetails() instanceof Long id) {
+            employeeId = id;
+        }
+        email = authentication.getName();
+    }
+}
@@ -0,0 +1,72 @@
+package ng.darum.employee.component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import ng.darum.employee.entity.Department;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level cache regions for departments: the "departments"
+ * entity region (findById) and the "department-names" query region
+ * (findByName, existsByName). Hibernate keeps both current for writes made
+ * by this instance; evict drops them for writes made by another one.
+ * Metrics, by region: hibernate.cache.region.requests (result=hit|miss) and
+ * hibernate.cache.region.hit.ratio. They stay at zero unless
+ * hibernate.generate_statistics is on.
+ */
+@Component
+public class DepartmentCache {
+
+    public static final String ENTITY_REGION = "departments";
+    public static final String NAME_QUERY_REGION = "department-names";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Statistics statistics;
+
+    public DepartmentCache(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : List.of(ENTITY_REGION, NAME_QUERY_REGION)) {
+            register(meterRegistry, region);
+        }
+    }
+
+    public void evict(Long departmentId) {
+        entityManagerFactory.getCache().evict(Department.class, departmentId);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(NAME_QUERY_REGION);
+    }
+
+    public double hitRatio(String region) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+        if (stats == null) {
+            return 0;
+        }
+        double total = stats.getHitCount() + stats.getMissCount();
+        return total == 0 ? 0 : stats.getHitCount() / total;
+    }
+
+    private void register(MeterRegistry meterRegistry, String region) {
+        FunctionCounter.builder("hibernate.cache.region.requests", this, count(region, CacheRegionStatistics::getHitCount))
+                .tag("region", region).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("hibernate.cache.region.requests", this, count(region, CacheRegionStatistics::getMissCount))
+                .tag("region", region).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("hibernate.cache.region.hit.ratio", this, cache -> cache.hitRatio(region))
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+
+    private static ToDoubleFunction<DepartmentCache> count(String region, ToDoubleFunction<CacheRegionStatistics> counter) {
+        return cache -> {
+            CacheRegionStatistics stats = cache.statistics.getCacheRegionStatistics(region);
+            return stats == null ? 0 : counter.applyAsDouble(stats);
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package ng.darum.employee.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ng.darum.employee.dto.EmployeeResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache for employee-by-id reads.
+ * Entries expire after the configured TTL and are dropped on every replica
+ * when an employee changes (see CacheInvalidationListener).
+ * Hit, miss and eviction counts are published as the "employees" cache metrics.
+ * Entries are immutable EmployeeResponse records, so callers can share them.
+ */
+@Component
+public class EmployeeCache {
+
+    private final Cache<Long, EmployeeResponse> cache;
+
+    public EmployeeCache(@Value("${employee.cache.max-size:10000}") long maxSize,
+                         @Value("${employee.cache.ttl:5m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employees");
+    }
+
+    public EmployeeResponse get(Long id, Function<Long, EmployeeResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+}
@@ -0,0 +1,168 @@
+package ng.darum.employee.component;
+
+import ng.darum.employee.entity.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory stand-in for the Postgres trigram index, used when the database
+ * has no pg_trgm (H2 in development and tests).
+ * Every employee is split into lower-case tokens: first name, last name,
+ * employee id, the email and the words of the email. A query word matches a
+ * token it is a prefix of, or, failing that, a token sharing at least the
+ * given share of its trigrams (the same measure as pg_trgm word similarity).
+ * Every word of the query must match. Prefix matches rank first.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    static final double WORD_SIMILARITY_THRESHOLD = 0.6;
+
+    private final Map<Long, Set<String>> tokensById = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> idsByToken = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> tokensByTrigram = new ConcurrentHashMap<>();
+
+    public synchronized void put(Employee employee) {
+        remove(employee.getId());
+        Set<String> tokens = tokens(employee);
+        tokensById.put(employee.getId(), tokens);
+        for (String token : tokens) {
+            idsByToken.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(employee.getId());
+            for (String trigram : trigrams(token)) {
+                tokensByTrigram.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(token);
+            }
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Set<String> tokens = tokensById.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Set<Long> ids = idsByToken.get(token);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByToken.remove(token);
+                for (String trigram : trigrams(token)) {
+                    Set<String> shared = tokensByTrigram.get(trigram);
+                    shared.remove(token);
+                    if (shared.isEmpty()) {
+                        tokensByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return tokensById.size();
+    }
+
+    /**
+     * Ids of the employees matching every word of the query, best first,
+     * ties broken by id. Returns at most offset + limit ids, minus the first offset.
+     */
+    public List<Long> search(String query, int offset, int limit) {
+        Map<Long, Double> scores = null;
+        for (String word : words(query)) {
+            Map<Long, Double> wordScores = score(word);
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                scores.keySet().retainAll(wordScores.keySet());
+                scores.replaceAll((id, score) -> score + wordScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Best score per employee for one query word: 1 for a prefix match, otherwise the trigram share
+    private Map<Long, Double> score(String word) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Set<Long> ids : idsByToken.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+            ids.forEach(id -> scores.put(id, 1.0));
+        }
+
+        Set<String> wordTrigrams = trigrams(word);
+        Map<String, Integer> sharedByToken = new HashMap<>();
+        for (String trigram : wordTrigrams) {
+            for (String token : tokensByTrigram.getOrDefault(trigram, Set.of())) {
+                sharedByToken.merge(token, 1, Integer::sum);
+            }
+        }
+        sharedByToken.forEach((token, shared) -> {
+            double similarity = (double) shared / wordTrigrams.size();
+            if (similarity >= WORD_SIMILARITY_THRESHOLD) {
+                for (Long id : idsByToken.getOrDefault(token, Set.of())) {
+                    scores.merge(id, similarity, Math::max);
+                }
+            }
+        });
+        return scores;
+    }
+
+    static List<String> words(String query) {
+        List<String> words = new ArrayList<>();
+        for (String word : query.toLowerCase(Locale.ROOT).trim().split("\\s+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> tokens(Employee employee) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addToken(tokens, employee.getFirstName());
+        addToken(tokens, employee.getLastName());
+        addToken(tokens, employee.getEmployeeId());
+        addToken(tokens, employee.getEmail());
+        if (employee.getEmail() != null) {
+            for (String part : employee.getEmail().split("[^\\p{Alnum}]+")) {
+                addToken(tokens, part);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(Set<String> tokens, String value) {
+        if (value != null && !value.isBlank()) {
+            tokens.add(value.toLowerCase(Locale.ROOT).trim());
+        }
+    }
+
+    // Trigrams of a word padded with two leading blanks and one trailing blank, as pg_trgm does
+    private static Set<String> trigrams(String token) {
+        String padded = "  " + token + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -1,51 +0,0 @@
-package ng.darum.employee.component;
-
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
-
-import java.security.Key;
-import java.util.Arrays;
-import java.util.Date;
-import java.util.function.Function;
-
-@Component
-public class JwtUtil {
-
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
-    }
-
-    public String extractEmail(String token) {
-        return validateToken(token).getSubject();
-    }
-
-    public String extractRole(String token){ return validateToken(token).get("role").toString();}
-    @SuppressWarnings("deprecation")
-    public Claims validateToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-    public String extractEmail(HttpServletRequest request){
-        return extractEmail(extractToken(request));
-    }
-    public String extractRole(HttpServletRequest request){
-        return extractRole(extractToken(request));
-    }
-    public String extractToken(HttpServletRequest request) {
-        String header = request.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            return header.substring(7);
-        }
-        throw new RuntimeException("Missing or invalid Authorization header");
-    }
-}
-
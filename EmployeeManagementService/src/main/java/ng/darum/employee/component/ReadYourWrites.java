@@ -0,0 +1,61 @@
+package ng.darum.employee.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Escape hatch from read replicas for reads that must see a recent write.
+ * onPrimary runs its reader against the primary. read does the same only
+ * when the given name and key were written in the last window (longer
+ * than replica lag is expected to be), so other reads keep using replicas.
+ * Writes are recorded after commit on the writing instance and when other
+ * instances hear of the change. Without replicas every read is on the primary anyway.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private final Cache<WriteKey, Boolean> recentWrites;
+
+    public ReadYourWrites(@Value("${employee.datasource.read-your-writes-window:5s}") Duration window,
+                          @Value("${employee.datasource.read-your-writes-max-keys:100000}") long maxKeys) {
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite(String name, Object key) {
+        recentWrites.put(new WriteKey(name, key), Boolean.TRUE);
+    }
+
+    public <T> T read(String name, Object key, Supplier<T> reader) {
+        return recentWrites.getIfPresent(new WriteKey(name, key)) != null ? onPrimary(reader) : reader.get();
+    }
+
+    // The connection is chosen when a transaction first needs one, so the reader must open it
+    public <T> T onPrimary(Supplier<T> reader) {
+        if (PRIMARY.get() != null) {
+            return reader.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    private record WriteKey(String name, Object key) {
+    }
+}
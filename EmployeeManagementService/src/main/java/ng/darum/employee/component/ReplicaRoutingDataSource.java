@@ -0,0 +1,161 @@
+package ng.darum.employee.component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions, spread round-robin over the
+ * healthy replica pools and taken from the primary when none is healthy
+ * or the caller asked for it (see ReadYourWrites).
+ * A replica is marked down as soon as a connection to it fails, and
+ * checkHealth brings it back once it answers again and, on Postgres,
+ * has replayed to within maxLag of the primary. The checks run on their own
+ * thread (see scheduleHealthChecks) so a slow replica or a long outbox drain
+ * on Spring's shared scheduler cannot hold either one up.
+ * Metrics: datasource.replicas.healthy (gauge) and
+ * datasource.replica.fallback (counter of reads sent to the primary).
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    // Zero when the replica has replayed everything it received, otherwise the age of the last replayed commit
+    private static final String POSTGRES_LAG_SQL = """
+            select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                   else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end""";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        this.fallbacks = Counter.builder("datasource.replica.fallback").register(meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", this, ReplicaRoutingDataSource::healthyCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadYourWrites.isPrimaryRequired()) {
+            int start = next.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    markDown(replica, e.getMessage());
+                }
+            }
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica connections use the configured credentials");
+    }
+
+    public synchronized void scheduleHealthChecks(Duration interval) {
+        if (healthChecks != null) {
+            return;
+        }
+        healthChecks = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkHealthSafely, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                Duration lag = lag(connection);
+                if (lag.compareTo(maxLag) > 0) {
+                    markDown(replica, "replication lag " + lag);
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Read replica {} is back in rotation", replica.dataSource.getPoolName());
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    // An exception escaping a scheduled task would cancel every later run
+    private void checkHealthSafely() {
+        try {
+            checkHealth();
+        } catch (RuntimeException e) {
+            log.error("Read replica health check failed, retrying on the next run", e);
+        }
+    }
+
+    public int healthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private Duration lag(Connection connection) throws SQLException {
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return Duration.ZERO;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(POSTGRES_LAG_SQL)) {
+            result.next();
+            return Duration.ofMillis((long) (result.getDouble(1) * 1000));
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} taken out of rotation: {}", replica.dataSource.getPoolName(), reason);
+        }
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ng.darum.employee.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loads for hot reads: while a load for a key is running,
+ * concurrent callers with the same name and key wait for it and share its
+ * result (or its exception) instead of running the same query again.
+ * Nothing is kept once the load finishes, so results are never stale.
+ * Shared results are the same instances for every caller and must not be modified.
+ * Metrics, by name: singleflight.requests (outcome=loaded|coalesced) and
+ * singleflight.coalescing.ratio, the share of requests that were coalesced.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<CallKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(String name, Object key, Supplier<T> loader) {
+        CallKey callKey = new CallKey(name, key);
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(callKey, call);
+        Stats counters = stats.computeIfAbsent(name, this::register);
+
+        if (running != null) {
+            counters.coalesced.increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        counters.loaded.increment();
+        try {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors and sneaky checked exceptions too, or the followers would wait forever
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(callKey, call);
+        }
+    }
+
+    private Stats register(String name) {
+        Counter loaded = Counter.builder("singleflight.requests")
+                .tag("name", name).tag("outcome", "loaded").register(meterRegistry);
+        Counter coalesced = Counter.builder("singleflight.requests")
+                .tag("name", name).tag("outcome", "coalesced").register(meterRegistry);
+        Stats counters = new Stats(loaded, coalesced);
+        Gauge.builder("singleflight.coalescing.ratio", counters, Stats::ratio)
+                .tag("name", name)
+                .register(meterRegistry);
+        return counters;
+    }
+
+    private record CallKey(String name, Object key) {
+    }
+
+    private record Stats(Counter loaded, Counter coalesced) {
+        double ratio() {
+            double total = loaded.count() + coalesced.count();
+            return total == 0 ? 0 : coalesced.count() / total;
+        }
+    }
+}
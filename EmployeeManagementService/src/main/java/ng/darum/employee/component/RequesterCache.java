@@ -0,0 +1,45 @@
+package ng.darum.employee.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ng.darum.employee.dto.RequesterContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of requester contexts keyed by email, so access
+ * checks do not query the database on every request.
+ * Entries are dropped by employee id whenever an employee changes on any
+ * replica (see CacheInvalidationListener), which covers email and department changes.
+ * Hit, miss and eviction counts are published as the "requesters" cache metrics.
+ */
+@Component
+public class RequesterCache {
+
+    private final Cache<String, RequesterContext> cache;
+
+    public RequesterCache(@Value("${employee.requester-cache.max-size:10000}") long maxSize,
+                          @Value("${employee.requester-cache.ttl:5m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "requesters");
+    }
+
+    public RequesterContext get(String email, Function<String, RequesterContext> loader) {
+        return cache.get(email, loader);
+    }
+
+    // Scans the entries, but only runs on writes, which are rare next to reads
+    public void invalidateEmployee(Long employeeId) {
+        cache.asMap().values().removeIf(context -> employeeId.equals(context.getId()));
+    }
+}
@@ -0,0 +1,112 @@
+package ng.darum.employee.component;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Internal fast path: accepts the caller the gateway already verified, carried in
+ * the signed X-Auth-Context header (see the gateway's TrustedClaimsFilter), so
+ * the JWT is not verified a second time.
+ * The header is base64url("subject\nrole\nemployeeId\nexpiresAt") + "." + base64url(HMAC-SHA256)
+ * under internal.auth.secret. A bad or expired header gets 401; without the
+ * header the request falls through to bearer token verification as before.
+ * The employee id, when present, is kept as the authentication details.
+ */
+public class TrustedClaimsFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Auth-Context";
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Mac prototype;
+
+    public TrustedClaimsFilter(String secret) {
+        try {
+            this.prototype = Mac.getInstance("HmacSHA256");
+            this.prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise internal auth verifier", e);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HEADER);
+        if (header == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = verify(header);
+        if (authentication == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid internal auth context");
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    UsernamePasswordAuthenticationToken verify(String header) {
+        int dot = header.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(header.substring(0, dot));
+            byte[] signature = DECODER.decode(header.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+
+            String[] fields = new String(payload, StandardCharsets.UTF_8).split("\n", -1);
+            if (fields.length != 4 || fields[0].isEmpty()
+                    || Long.parseLong(fields[3]) < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+
+            List<SimpleGrantedAuthority> authorities = fields[1].isEmpty()
+                    ? List.of()
+                    : List.of(new SimpleGrantedAuthority("ROLE_" + fields[1]));
+            UsernamePasswordAuthenticationToken authentication =
+                    UsernamePasswordAuthenticationToken.authenticated(fields[0], null, authorities);
+            authentication.setDetails(fields[2].isEmpty() ? null : Long.valueOf(fields[2]));
+            return authentication;
+        } catch (IllegalArgumentException e) {
+            // Malformed base64 or numbers
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac is not thread-safe; a clone of the initialised prototype skips key setup
+            return ((Mac) prototype.clone()).doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 provider does not support cloning", e);
+        }
+    }
+}
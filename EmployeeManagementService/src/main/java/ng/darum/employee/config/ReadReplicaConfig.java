@@ -0,0 +1,75 @@
+package ng.darum.employee.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import ng.darum.employee.component.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to the read replicas and everything else to
+ * the primary. Only active when employee.datasource.replicas is set.
+ * The application DataSource is a LazyConnectionDataSourceProxy: it takes a
+ * connection only when the first statement runs, by which time the
+ * transaction is known to be read-only or not. Inherited CRUD reads are
+ * read-only in Spring Data itself; declared query methods get no transaction
+ * of their own, so the repository interfaces are annotated
+ * {@code @Transactional(readOnly = true)}. Only reads inside a read-write
+ * transaction stay on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.datasource.replicas[0]", name = "url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceProperties dataSourceProperties,
+                                                      ReadReplicaProperties replicaProperties,
+                                                      MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<ReadReplicaProperties.Replica> configured = replicaProperties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReadReplicaProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword());
+            pool.setMaximumPoolSize(replicaProperties.getReplicaPoolSize());
+            pool.setConnectionTimeout(replicaProperties.getReplicaConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            // Start even when a replica is down; the health check adds it back once it answers
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(pool);
+        }
+        ReplicaRoutingDataSource replicaDataSource =
+                new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaProperties.getMaxLag(), meterRegistry);
+        replicaDataSource.scheduleHealthChecks(replicaProperties.getHealthCheckInterval());
+        return replicaDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,34 @@
+package ng.darum.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions (see ReadReplicaConfig).
+ * With no replicas configured every query goes to spring.datasource.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "employee.datasource")
+public class ReadReplicaProperties {
+    private List<Replica> replicas = new ArrayList<>();
+    // Replicas further behind the primary than this stop receiving reads until they catch up
+    private Duration maxLag = Duration.ofSeconds(10);
+    private int replicaPoolSize = 10;
+    // Kept short so a replica that stops answering costs one short wait before reads move elsewhere
+    private Duration replicaConnectionTimeout = Duration.ofSeconds(1);
+    // How often replicas that are down are probed, and healthy ones checked for lag
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
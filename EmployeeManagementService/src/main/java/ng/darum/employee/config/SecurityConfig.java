@@ -1,5 +1,11 @@
 package ng.darum.employee.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import ng.darum.employee.component.JwtKeySet;
+import ng.darum.employee.component.TrustedClaimsFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,11 +19,11 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import javax.crypto.spec.SecretKeySpec;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,8 +33,14 @@ import java.util.stream.Collectors;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwtKeySet jwtKeySet;
+
+    @Value("${internal.auth.secret:}")
+    private String internalSecret;
+
+    public SecurityConfig(JwtKeySet jwtKeySet) {
+        this.jwtKeySet = jwtKeySet;
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -45,6 +57,10 @@ public class SecurityConfig {
                                 .jwtAuthenticationConverter(jwtAuthenticationConverter())
                         )
                 );
+        // Requests through the gateway carry a signed X-Auth-Context and skip JWT verification
+        if (!internalSecret.isBlank()) {
+            http.addFilterBefore(new TrustedClaimsFilter(internalSecret), BearerTokenAuthenticationFilter.class);
+        }
 
         return http.build();
     }
@@ -74,11 +90,15 @@ public class SecurityConfig {
         }
     }
 
+    // Selects the verification key by the token's kid (see JwtKeySet)
     @Bean
     public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder
-                .withSecretKey(new SecretKeySpec(secretKey.getBytes(), "HmacSHA256"))
-                .build();
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, jwtKeySet));
+        // Expiry and the other claim checks are left to the decoder's validators
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(processor);
     }
     @Bean
     public WebMvcConfigurer corsConfigurer() {
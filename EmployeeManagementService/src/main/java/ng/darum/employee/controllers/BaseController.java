@@ -2,13 +2,25 @@ package ng.darum.employee.controllers;
 
 import jakarta.servlet.http.HttpServletRequest;
 import ng.darum.commons.dto.ServerResponse;
+import ng.darum.employee.dto.CursorPage;
 import ng.darum.employee.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Base controller providing common functionality for all REST controllers.
@@ -54,6 +66,119 @@ public abstract class BaseController {
         return buildSuccess(message, data, HttpStatus.OK);
     }
 
+    /**
+     * Builds a success response (200) carrying an ETag, or 304 Not Modified
+     * without a body when the request's If-None-Match already holds that ETag
+     *
+     * @param <T> Type of the data payload
+     * @param message Success message
+     * @param data Response data
+     * @param etag ETag of the data (see versionETag and listETag)
+     * @param request HTTP servlet request
+     * @return ResponseEntity with OK or NOT_MODIFIED status
+     */
+    protected <T> ResponseEntity<?> buildConditional(String message, T data, String etag, HttpServletRequest request) {
+        if (isNotModified(request, etag)) {
+            return buildNotModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).body(buildSuccess(message, data).getBody());
+    }
+
+    /**
+     * Builds an empty 304 Not Modified response
+     *
+     * @param etag Current ETag of the resource
+     * @return ResponseEntity with NOT_MODIFIED status
+     */
+    protected ResponseEntity<Void> buildNotModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * Whether the request's If-None-Match matches the given ETag.
+     * Comparison is weak, as RFC 9110 requires for If-None-Match.
+     *
+     * @param request HTTP servlet request
+     * @param etag Current ETag of the resource
+     * @return true when the client's copy is current
+     */
+    protected boolean isNotModified(HttpServletRequest request, String etag) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        String current = opaqueTag(etag);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if ("*".equals(tag) || current.equals(opaqueTag(tag))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Weak ETag for a single record, from its id and last update time
+     *
+     * @param id Record id
+     * @param updatedAt Last update time, may be null
+     * @return Weak ETag such as W/"42-1730000000.123000000"
+     */
+    protected static String versionETag(Long id, LocalDateTime updatedAt) {
+        return "W/\"" + id + "-" + version(updatedAt) + "\"";
+    }
+
+    /**
+     * Weak ETag for a list of records: a hash of every item's id and last
+     * update time, so any change, addition or removal produces a new tag
+     *
+     * @param <T> Type of the items
+     * @param items Items in response order
+     * @param id Extracts the item id
+     * @param updatedAt Extracts the item's last update time
+     * @return Weak ETag
+     */
+    protected static <T> String listETag(List<T> items, Function<T, Long> id, Function<T, LocalDateTime> updatedAt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (T item : items) {
+                digest.update((id.apply(item) + "-" + version(updatedAt.apply(item)) + ";").getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] hash = digest.digest();
+            return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String version(LocalDateTime updatedAt) {
+        return updatedAt == null ? "0" : updatedAt.toEpochSecond(ZoneOffset.UTC) + "." + updatedAt.getNano();
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Builds a success response (200) for one keyset page, exposing the
+     * page items as data and the cursor for the following page
+     *
+     * @param <T> Type of the page items
+     * @param message Success message
+     * @param page Page of items with its next cursor
+     * @return ResponseEntity with OK status
+     */
+    protected <T> ResponseEntity<ServerResponse<List<T>>> buildPage(String message, CursorPage<T> page) {
+        ServerResponse<List<T>> body = ServerResponse.<List<T>>builder()
+                .status("success")
+                .message(message)
+                .data(page.getItems())
+                .nextCursor(page.getNextCursor())
+                .timestamp(ZonedDateTime.now())
+                .build();
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
     /**
      * Builds a success response with CREATED status (201)
      *
@@ -1,6 +1,7 @@
 package ng.darum.employee.controllers;
 
 import jakarta.servlet.http.HttpServletRequest;
+import ng.darum.employee.dto.DepartmentResponse;
 import ng.darum.employee.entity.Department;
 import ng.darum.employee.service.DepartmentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Department controller handling CRUD operations for departments.
  * Extends BaseController to inherit standardized response handling.
@@ -64,13 +67,16 @@ public class DepartmentController extends BaseController {
     }
 
     /**
-     * Finds a department by ID
+     * Finds a department by ID.
+     * The ETag comes from the cached department's update time, so a
+     * conditional request that is still current costs no query.
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> findDepartment(@PathVariable Long id, HttpServletRequest request) {
         try {
             Department entity = departmentService.findDepartmentById(id);
-            return buildSuccess("Department fetched successfully", entity);
+            return buildConditional("Department fetched successfully", entity,
+                    versionETag(entity.getId(), entity.getUpdatedAt()), request);
         } catch (Exception e) {
             return handleException(e, request, "FIND_DEPARTMENT_BY_ID");
         }
@@ -83,7 +89,9 @@ public class DepartmentController extends BaseController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAllDepartments(HttpServletRequest request) {
         try {
-            return buildSuccess("Departments retrieved successfully", departmentService.getAllDepartments());
+            List<DepartmentResponse> departments = departmentService.getAllDepartments();
+            return buildConditional("Departments retrieved successfully", departments,
+                    listETag(departments, DepartmentResponse::id, DepartmentResponse::updatedAt), request);
         } catch (Exception e) {
             return handleException(e, request, "GET_ALL_DEPARTMENTS");
         }
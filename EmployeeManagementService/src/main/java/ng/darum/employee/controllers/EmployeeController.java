@@ -1,16 +1,25 @@
 package ng.darum.employee.controllers;
 
 import jakarta.servlet.http.HttpServletRequest;
-import ng.darum.employee.component.JwtUtil;
+import ng.darum.employee.component.AuthenticatedUser;
+import ng.darum.employee.dto.BatchItemResult;
 import ng.darum.employee.dto.EmployeeRequest;
+import ng.darum.employee.dto.EmployeeResponse;
+import ng.darum.employee.dto.ErrorResponse;
+import ng.darum.employee.dto.RequesterContext;
 import ng.darum.employee.entity.Employee;
+import ng.darum.employee.enums.ExportFormat;
 import ng.darum.employee.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -25,7 +34,7 @@ public class EmployeeController extends BaseController {
     private EmployeeService employeeService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private AuthenticatedUser authenticatedUser;
     /**
      * Creates a new employee
      */
@@ -40,6 +49,23 @@ public class EmployeeController extends BaseController {
         }
     }
 
+    /**
+     * Creates many employees in one request.
+     * Each entry gets its own result; invalid entries do not block the rest.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> createEmployees(@RequestBody List<EmployeeRequest> requests, HttpServletRequest httpRequest) {
+        try {
+            List<BatchItemResult> results = employeeService.createEmployees(requests);
+            long created = results.stream().filter(r -> BatchItemResult.CREATED.equals(r.getStatus())).count();
+            String message = "Employee batch processed: " + created + " created, " + (results.size() - created) + " rejected";
+            return buildSuccess(message, results, created > 0 ? HttpStatus.CREATED : HttpStatus.OK);
+        } catch (Exception e) {
+            return handleException(e, httpRequest, "CREATE_EMPLOYEES_BATCH");
+        }
+    }
+
     /**
      * Updates an existing employee by ID
      */
@@ -70,30 +96,36 @@ public class EmployeeController extends BaseController {
     }
 
     /**
-     * Finds an employee by ID
+     * Finds an employee by ID.
+     * The employee comes from the cache, so a conditional request that gets
+     * 304 costs no query once access has been checked.
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> findEmployee(@PathVariable Long id, HttpServletRequest request) {
         try {
-            String userEmail = jwtUtil.extractEmail(request);
-            String role = jwtUtil.extractRole(request);
-            Employee requester = employeeService.findEmployeeByEmail(userEmail);
-            Employee target = employeeService.findEmployeeById(id);
+            EmployeeResponse target = employeeService.findEmployeeById(id);
 
             // === ACCESS CONTROL ===
-            boolean isAdmin = role.equalsIgnoreCase("ADMIN");
-            boolean isManager = role.equalsIgnoreCase("MANAGER");
-            boolean isSelf = Objects.equals(requester.getId(), target.getId());
-            boolean sameDepartment = Objects.equals(requester.getDepartmentId(), target.getDepartmentId());
+            boolean isAdmin = authenticatedUser.hasRole("ADMIN");
+            boolean isManager = authenticatedUser.hasRole("MANAGER");
+            Long employeeId = authenticatedUser.getEmployeeId();
+            boolean isSelf = employeeId != null && employeeId.equals(target.id());
 
             // Employees can only see themselves
             // Managers can see employees in their own department
             // Admins can see everyone
-            if (!(isAdmin || (isManager && sameDepartment) || isSelf)) {
-                throw new AccessDeniedException("You can't access this employee's info");
+            // The requester lookup is only needed when the token alone cannot decide
+            if (!(isAdmin || isSelf)) {
+                RequesterContext requester = employeeService.findRequester(authenticatedUser.getEmail());
+                isSelf = Objects.equals(requester.getId(), target.id());
+                boolean sameDepartment = Objects.equals(requester.getDepartmentId(), target.departmentId());
+                if (!((isManager && sameDepartment) || isSelf)) {
+                    throw new AccessDeniedException("You can't access this employee's info");
+                }
             }
 
-            return buildSuccess("Employee fetched successfully", target);
+            return buildConditional("Employee fetched successfully", target,
+                    versionETag(target.id(), target.updatedAt()), request);
 
         } catch (Exception e) {
             return handleException(e, request, "FIND_EMPLOYEE_BY_ID");
@@ -102,18 +134,81 @@ public class EmployeeController extends BaseController {
 
 
     /**
-     * Retrieves all employees
+     * Retrieves employees one keyset page at a time.
+     * Pass the nextCursor of the previous response to fetch the following page.
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllEmployees(HttpServletRequest request) {
+    public ResponseEntity<?> getAllEmployees(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size,
+                                             HttpServletRequest request) {
         try {
-            return buildSuccess("Employees retrieved successfully", employeeService.getAllEmployees());
+            return buildPage("Employees retrieved successfully", employeeService.getEmployeesPage(cursor, size));
         } catch (Exception e) {
             return handleException(e, request, "GET_ALL_EMPLOYEES");
         }
     }
 
+    /**
+     * Searches employees by prefix of, or close match to, first name, last name,
+     * email or employee id. Results are ranked best first; page is zero-based.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> searchEmployees(@RequestParam String q,
+                                             @RequestParam(required = false) Integer page,
+                                             @RequestParam(required = false) Integer size,
+                                             HttpServletRequest request) {
+        try {
+            return buildSuccess("Employees found successfully", employeeService.searchEmployees(q, page, size));
+        } catch (Exception e) {
+            return handleException(e, request, "SEARCH_EMPLOYEES");
+        }
+    }
+
+    /**
+     * Streams every employee as NDJSON (default) or CSV.
+     * Rows are read from a database cursor and flushed as they are written.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> employeeService.exportEmployees(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"employees." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Maps invalid arguments from handlers that cannot return an ErrorResponse
+     * themselves (such as the streaming export) to the standard error format
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e, HttpServletRequest request) {
+        return handleException(e, request, "INVALID_REQUEST");
+    }
+
+    /**
+     * Headcount of a department by status, with its latest hires.
+     * Served from counts maintained on every employee change, not by loading employees.
+     */
+    @GetMapping("/department/{id}/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<?> getDepartmentStats(@PathVariable Long id, HttpServletRequest request) {
+        try {
+            if (!authenticatedUser.hasRole("ADMIN")
+                    && !Objects.equals(employeeService.findRequester(authenticatedUser.getEmail()).getDepartmentId(), id)) {
+                throw new AccessDeniedException("You can't access this department Info");
+            }
+            return buildSuccess("Department statistics retrieved successfully", employeeService.getDepartmentStats(id));
+        } catch (Exception e) {
+            return handleException(e, request, "GET_DEPARTMENT_STATS");
+        }
+    }
+
     /**
      * Retrieves employees by department ID
      */
@@ -121,18 +216,16 @@ public class EmployeeController extends BaseController {
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<?> getDepartmentEmployees(@PathVariable Long id, HttpServletRequest request) {
         try {
-            String userEmail = jwtUtil.extractEmail(request);    // extract role from JWT claims
-            String role = jwtUtil.extractRole(request);
-            System.out.println(role);
-            Employee employee =employeeService.findEmployeeByEmail(userEmail);
+            RequesterContext requester = employeeService.findRequester(authenticatedUser.getEmail());
 
-            if (!role.equalsIgnoreCase("ADMIN") && !Objects.equals(employee.getDepartmentId(), id)) {
+            if (!authenticatedUser.hasRole("ADMIN") && !Objects.equals(requester.getDepartmentId(), id)) {
                 throw new AccessDeniedException("You can't access this department Info");
             }
 
 
-            return buildSuccess("Department employees retrieved successfully",
-                    employeeService.getDepartmentEmployees(id));
+            List<EmployeeResponse> employees = employeeService.getDepartmentEmployees(id);
+            return buildConditional("Department employees retrieved successfully", employees,
+                    listETag(employees, EmployeeResponse::id, EmployeeResponse::updatedAt), request);
 
         } catch (Exception e) {
             return handleException(e, request, "GET_DEPARTMENT_EMPLOYEES");
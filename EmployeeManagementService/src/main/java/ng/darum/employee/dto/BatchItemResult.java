@@ -0,0 +1,21 @@
+package ng.darum.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+	public static final String CREATED = "CREATED";
+	public static final String REJECTED = "REJECTED";
+
+	private int index;
+	private String status;
+	private Long id;
+	private String email;
+	private String message;
+}
@@ -0,0 +1,38 @@
+package ng.darum.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * A single keyset page of results together with the opaque cursor
+ * that points at the next page (null when there are no more rows).
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+	private static final String CURSOR_PREFIX = "id:";
+
+	private List<T> items;
+	private String nextCursor;
+
+	public static String encodeCursor(Long lastId) {
+		String raw = CURSOR_PREFIX + lastId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static Long decodeCursor(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!raw.startsWith(CURSOR_PREFIX)) {
+				throw new IllegalArgumentException("Invalid page cursor");
+			}
+			return Long.parseLong(raw.substring(CURSOR_PREFIX.length()));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid page cursor", e);
+		}
+	}
+}
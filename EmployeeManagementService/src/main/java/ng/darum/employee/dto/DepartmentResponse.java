@@ -1,5 +1,17 @@
 package ng.darum.employee.dto;
 
-public class DepartmentResponse {
+import java.time.LocalDateTime;
 
+/**
+ * A department as returned by the list endpoint, selected column by column
+ * (see DepartmentRepository) so listing never hydrates Department entities.
+ * Serialises to the same JSON as the entity.
+ */
+public record DepartmentResponse(
+		Long id,
+		String name,
+		String slug,
+		String description,
+		LocalDateTime createdAt,
+		LocalDateTime updatedAt) {
 }
@@ -0,0 +1,23 @@
+package ng.darum.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headcount of a department, broken down by employee status, with its latest hires.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentStats {
+	private Long departmentId;
+	private long headcount;
+	private Map<String, Long> byStatus;
+	private List<RecentHire> recentHires;
+}
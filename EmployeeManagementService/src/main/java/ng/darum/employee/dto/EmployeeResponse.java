@@ -1,5 +1,21 @@
 package ng.darum.employee.dto;
 
-public class EmployeeResponse {
+import java.time.LocalDateTime;
 
+/**
+ * An employee as returned by the read endpoints, selected column by column
+ * (see EmployeeRepository) so reads never hydrate or track Employee entities.
+ * Serialises to the same JSON as the entity.
+ */
+public record EmployeeResponse(
+		Long id,
+		Long userId,
+		String email,
+		String employeeId,
+		String firstName,
+		String lastName,
+		String status,
+		Long departmentId,
+		LocalDateTime createdAt,
+		LocalDateTime updatedAt) {
 }
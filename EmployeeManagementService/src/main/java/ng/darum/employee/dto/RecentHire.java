@@ -0,0 +1,20 @@
+package ng.darum.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An employee as listed among a department's recent hires.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentHire {
+	private Long id;
+	private String firstName;
+	private String lastName;
+	private LocalDateTime hiredAt;
+}
@@ -0,0 +1,17 @@
+package ng.darum.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The minimum about the calling employee that access checks need.
+ * The role is not stored here; it comes from the signed token on each request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequesterContext {
+	private Long id;
+	private Long departmentId;
+}
@@ -4,9 +4,12 @@ import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -22,11 +25,16 @@ import lombok.Data;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name ="departments")
+// Departments rarely change, so loads by id are served from the second-level cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 public class Department {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 	
+	// Backed by the idx_departments_name unique index; createDepartment relies on it
+	@Column(unique = true)
 	private String name;
 	private String slug;
 	private String description;
@@ -0,0 +1,43 @@
+package ng.darum.employee.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Materialised headcount of one department for one employee status.
+ * Kept up to date by DepartmentStatsService in the same transaction as each
+ * employee change, so department statistics never need to count employees.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@IdClass(DepartmentStatusCount.Key.class)
+@Table(name ="department_status_counts")
+public class DepartmentStatusCount {
+	@Id
+	@Column(name = "department_id")
+	private Long departmentId;
+
+	@Id
+	private String status;
+
+	@Column(nullable = false)
+	private long headcount;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		private Long departmentId;
+		private String status;
+	}
+}
@@ -8,13 +8,19 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
+import jakarta.persistence.ConstructorResult;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
 import lombok.Builder;
 import lombok.Data;
+import ng.darum.employee.dto.EmployeeResponse;
 
 @Data
 @Entity
@@ -22,11 +28,35 @@ import lombok.Data;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name ="employees")
+// Postgres only: substring or close word match on search_text, nearest first through the trigram GiST index
+@NamedNativeQuery(name = "Employee.searchByTrigram", resultSetMapping = "EmployeeResponse", query = """
+		select e.id, e.user_id, e.email, e.employee_id, e.first_name, e.last_name, e.status,
+		       e.department_id, e.created_at, e.updated_at
+		from employees e
+		where e.search_text like :pattern or :query <% e.search_text
+		order by e.search_text <->> :query, e.id
+		limit :limit offset :offset""")
+@SqlResultSetMapping(name = "EmployeeResponse", classes = @ConstructorResult(targetClass = EmployeeResponse.class, columns = {
+		@ColumnResult(name = "id", type = Long.class),
+		@ColumnResult(name = "user_id", type = Long.class),
+		@ColumnResult(name = "email", type = String.class),
+		@ColumnResult(name = "employee_id", type = String.class),
+		@ColumnResult(name = "first_name", type = String.class),
+		@ColumnResult(name = "last_name", type = String.class),
+		@ColumnResult(name = "status", type = String.class),
+		@ColumnResult(name = "department_id", type = Long.class),
+		@ColumnResult(name = "created_at", type = LocalDateTime.class),
+		@ColumnResult(name = "updated_at", type = LocalDateTime.class)
+}))
 public class Employee {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// Pooled sequence (not IDENTITY) so Hibernate can batch inserts
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+	@SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
 	private Long id;
 	private Long userId;
+	// Backed by the idx_employees_email unique index; createEmployee relies on it
+	@Column(unique = true)
 	private String email;
 	private String employeeId;
 	private String firstName;
@@ -0,0 +1,69 @@
+package ng.darum.employee.entity;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * An event waiting to be published to Kafka.
+ * Written in the same transaction as the change it describes and deleted
+ * by OutboxRelay once the broker has acknowledged it. Pooled ids are handed out
+ * in blocks per instance, so the relay sends in seq order instead, which the
+ * database assigns as each row is inserted.
+ * An event that keeps failing is parked and no longer sent.
+ */
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name ="outbox_events")
+public class OutboxEvent {
+	@Id
+	// Pooled sequence (not IDENTITY) so Hibernate can batch inserts
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+	@SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(nullable = false)
+	private String topic;
+
+	@Column(name = "event_key")
+	private String eventKey;
+
+	@Column(nullable = false, columnDefinition = "text")
+	private String payload;
+
+	@CreationTimestamp
+	@Column(updatable = false)
+	LocalDateTime createdAt;
+
+	// Identity column filled in by the database on insert
+	@Column(insertable = false, updatable = false)
+	private Long seq;
+
+	private int attempts;
+
+	@Column(name = "last_error", length = 1000)
+	private String lastError;
+
+	// Set while a relay is sending the event outside its transaction
+	@Column(name = "claimed_until")
+	private LocalDateTime claimedUntil;
+
+	@Column(name = "parked_at")
+	private LocalDateTime parkedAt;
+
+}
@@ -1,12 +1,40 @@
 package ng.darum.employee.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import ng.darum.employee.dto.DepartmentResponse;
 import ng.darum.employee.entity.Department;
 
+import java.util.List;
 import java.util.Optional;
 
+@Transactional(readOnly = true)
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    // Name lookups are served from the query cache until the departments table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "department-names")
+    })
     boolean existsByName(String name);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "department-names")
+    })
     Optional<Department> findByName(String name);
+
+    // Reads the row itself rather than a second-level cache entry another instance may not have evicted yet
+    @Query("select d from Department d where d.id = :id")
+    Optional<Department> findCurrentById(@Param("id") Long id);
+
+    // Listing selects straight into DepartmentResponse, so no entity is hydrated or tracked
+    @Query("select new ng.darum.employee.dto.DepartmentResponse(d.id, d.name, d.slug, d.description, d.createdAt, d.updatedAt) "
+            + "from Department d order by d.id")
+    List<DepartmentResponse> findAllResponses();
 }
@@ -0,0 +1,14 @@
+package ng.darum.employee.repository;
+
+import ng.darum.employee.entity.DepartmentStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface DepartmentStatusCountRepository extends JpaRepository<DepartmentStatusCount, DepartmentStatusCount.Key>,
+        StatusCountIncrements {
+
+    List<DepartmentStatusCount> findByDepartmentId(Long departmentId);
+}
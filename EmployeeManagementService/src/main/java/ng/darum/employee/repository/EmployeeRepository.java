@@ -1,18 +1,74 @@
 package ng.darum.employee.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Example;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import ng.darum.employee.dto.EmployeeResponse;
+import ng.darum.employee.dto.RecentHire;
+import ng.darum.employee.dto.RequesterContext;
 import ng.darum.employee.entity.Employee;
 
+// Declared queries get no transaction from Spring Data; read-only here so they are routed to a replica
+@Transactional(readOnly = true)
 public interface EmployeeRepository extends JpaRepository<Employee,Long> {
 
     boolean existsByEmail(String email);
 
-    List<Employee> findByDepartmentId(Long departmentId);
+    // Read path: rows selected straight into EmployeeResponse, so nothing is hydrated or kept in the persistence context
+    String EMPLOYEE_RESPONSE = "select new ng.darum.employee.dto.EmployeeResponse(e.id, e.userId, e.email, e.employeeId, "
+            + "e.firstName, e.lastName, e.status, e.departmentId, e.createdAt, e.updatedAt) from Employee e ";
+
+    @Query(EMPLOYEE_RESPONSE + "where e.id = :id")
+    Optional<EmployeeResponse> findResponseById(@Param("id") Long id);
+
+    @Query(EMPLOYEE_RESPONSE + "where e.departmentId = :departmentId")
+    List<EmployeeResponse> findResponsesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query(EMPLOYEE_RESPONSE + "order by e.id")
+    List<EmployeeResponse> findAllResponses();
 
     Optional<Employee> findByEmail(String userEmail);
+
+    // Only the columns access checks need, without hydrating the entity
+    @Query("select new ng.darum.employee.dto.RequesterContext(e.id, e.departmentId) from Employee e where e.email = :email")
+    Optional<RequesterContext> findRequesterByEmail(@Param("email") String email);
+
+    // Latest hires of a department, newest first
+    @Query("select new ng.darum.employee.dto.RecentHire(e.id, e.firstName, e.lastName, e.createdAt) from Employee e "
+            + "where e.departmentId = :departmentId order by e.createdAt desc, e.id desc")
+    List<RecentHire> findRecentHires(@Param("departmentId") Long departmentId, Limit limit);
+
+    // Postgres only: the named native query on Employee, selected straight into EmployeeResponse
+    List<EmployeeResponse> searchByTrigram(@Param("query") String query, @Param("pattern") String pattern,
+                                           @Param("limit") int limit, @Param("offset") int offset);
+
+    // Search results from the in-memory index, in no particular order
+    @Query(EMPLOYEE_RESPONSE + "where e.id in :ids")
+    List<EmployeeResponse> findResponsesById(@Param("ids") Collection<Long> ids);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset page: rows strictly after the given id, walked along the primary key index
+    @Query(EMPLOYEE_RESPONSE + "where e.id > :afterId order by e.id")
+    List<EmployeeResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Server-side cursor over the whole table; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
 }
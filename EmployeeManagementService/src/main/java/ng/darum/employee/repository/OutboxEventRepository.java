@@ -0,0 +1,26 @@
+package ng.darum.employee.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import ng.darum.employee.entity.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest events that are not parked, locked so that only one relay claims them at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxEvent> findByParkedAtIsNullOrderBySeqAsc(Limit limit);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = :until where e.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+}
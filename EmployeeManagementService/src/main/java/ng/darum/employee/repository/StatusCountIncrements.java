@@ -0,0 +1,10 @@
+package ng.darum.employee.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+public interface StatusCountIncrements {
+
+    // Atomic add, creating the row on first use; safe under concurrent writers
+    @Transactional
+    void increment(Long departmentId, String status, long delta);
+}
@@ -0,0 +1,90 @@
+package ng.darum.employee.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Set;
+
+/**
+ * Upsert of a department status count in plain SQL that Postgres and H2 both run.
+ * The update covers every call but the first for a row. When it finds no row,
+ * the insert runs under a savepoint: if a concurrent writer is inserting the
+ * same row, only the insert is rolled back (Postgres would otherwise abort the
+ * whole employee transaction) and the update is tried again against their row.
+ */
+class StatusCountIncrementsImpl implements StatusCountIncrements {
+
+    // Unique violation; H2 reports a duplicate that is not committed yet as a concurrent update instead
+    private static final Set<String> CONFLICT_STATES = Set.of("23505", "90131");
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BACKOFF_MILLIS = 10;
+
+    private static final String UPDATE = """
+            update department_status_counts set headcount = headcount + ?
+            where department_id = ? and status = ?""";
+
+    private static final String INSERT = """
+            insert into department_status_counts (department_id, status, headcount)
+            values (?, ?, ?)""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void increment(Long departmentId, String status, long delta) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            for (int attempt = 1; ; attempt++) {
+                if (update(connection, departmentId, status, delta) > 0 || insert(connection, departmentId, status, delta)) {
+                    return;
+                }
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new SQLException("Gave up creating the count for department " + departmentId
+                            + " and status " + status + " after " + attempt + " conflicting inserts", "40001");
+                }
+                backOff(attempt);
+            }
+        });
+    }
+
+    private static int update(Connection connection, Long departmentId, String status, long delta) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+            update.setLong(1, delta);
+            update.setLong(2, departmentId);
+            update.setString(3, status);
+            return update.executeUpdate();
+        }
+    }
+
+    // False when another writer got the row in first
+    private static boolean insert(Connection connection, Long departmentId, String status, long delta) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            insert.setLong(1, departmentId);
+            insert.setString(2, status);
+            insert.setLong(3, delta);
+            insert.executeUpdate();
+            connection.releaseSavepoint(savepoint);
+            return true;
+        } catch (SQLException e) {
+            if (!CONFLICT_STATES.contains(e.getSQLState())) {
+                throw e;
+            }
+            connection.rollback(savepoint);
+            return false;
+        }
+    }
+
+    private static void backOff(int attempt) throws SQLException {
+        try {
+            Thread.sleep(BACKOFF_MILLIS * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while creating a department status count", e);
+        }
+    }
+}
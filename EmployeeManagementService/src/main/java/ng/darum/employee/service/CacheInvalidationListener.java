@@ -0,0 +1,50 @@
+package ng.darum.employee.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ng.darum.employee.component.DepartmentCache;
+import ng.darum.employee.component.EmployeeCache;
+import ng.darum.employee.component.ReadYourWrites;
+import ng.darum.employee.component.RequesterCache;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drops cached employees and departments when any replica reports a change.
+ * Every instance joins with its own consumer group so each one sees every message.
+ */
+@Service
+@Slf4j
+public class CacheInvalidationListener {
+
+    private final EmployeeCache employeeCache;
+    private final RequesterCache requesterCache;
+    private final ReadYourWrites readYourWrites;
+    private final DepartmentCache departmentCache;
+
+    public CacheInvalidationListener(EmployeeCache employeeCache, RequesterCache requesterCache,
+                                     ReadYourWrites readYourWrites, DepartmentCache departmentCache) {
+        this.employeeCache = employeeCache;
+        this.requesterCache = requesterCache;
+        this.readYourWrites = readYourWrites;
+        this.departmentCache = departmentCache;
+    }
+
+    @KafkaListener(topics = "${employee.cache.invalidation.topic:employee-cache-invalidation}",
+            groupId = "#{'employee-cache-' + T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest")
+    public void onEmployeeChanged(Long employeeId) {
+        log.debug("Invalidating cached employee {}", employeeId);
+        readYourWrites.recordWrite("employee", employeeId);
+        employeeCache.invalidate(employeeId);
+        requesterCache.invalidateEmployee(employeeId);
+    }
+
+    @KafkaListener(topics = "${employee.cache.department-invalidation.topic:department-cache-invalidation}",
+            groupId = "#{'department-cache-' + T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest")
+    public void onDepartmentChanged(Long departmentId) {
+        log.debug("Evicting cached department {}", departmentId);
+        readYourWrites.recordWrite("department", departmentId);
+        departmentCache.evict(departmentId);
+    }
+}
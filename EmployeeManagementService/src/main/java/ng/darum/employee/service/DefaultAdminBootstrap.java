@@ -0,0 +1,86 @@
+package ng.darum.employee.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ng.darum.employee.component.ReadYourWrites;
+import ng.darum.employee.config.DefaultAdminConfig;
+import ng.darum.employee.dto.EmployeeRequest;
+import ng.darum.employee.entity.Department;
+import ng.darum.employee.enums.Role;
+import ng.darum.employee.repository.DepartmentRepository;
+import ng.darum.employee.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates the configured default admin and their department once the
+ * application is ready, on a task executor thread so startup and the
+ * readiness probe do not wait on the database or the outbox.
+ * Safe to run on every instance at once: whatever already exists is kept,
+ * and a create that loses the race to another instance is treated as done.
+ */
+@Service
+@Slf4j
+public class DefaultAdminBootstrap {
+
+	@Autowired
+	DefaultAdminConfig defaultAdminConfig;
+
+	@Autowired
+	EmployeeRepository employeeRepository;
+
+	@Autowired
+	DepartmentRepository departmentRepository;
+
+	@Autowired
+	EmployeeService employeeService;
+
+	@Autowired
+	ReadYourWrites readYourWrites;
+
+	@Async
+	@EventListener(ApplicationReadyEvent.class)
+	public void createDefaultAdminUser() {
+		String email = defaultAdminConfig.getEmail();
+		try {
+			if (employeeRepository.existsByEmail(email)) {
+				log.info("Default admin user already exists: {}", email);
+				return;
+			}
+			EmployeeRequest user = EmployeeRequest.builder()
+					.email(email)
+					.firstName(defaultAdminConfig.getFirstName())
+					.lastName(defaultAdminConfig.getLastName())
+					.password(defaultAdminConfig.getPassword())
+					.departmentId(findOrCreateDepartment().getId())
+					.role(Role.ADMIN)
+					.build();
+			employeeService.createEmployee(user);
+			log.info("Default admin user created: {}", email);
+		} catch (DataIntegrityViolationException e) {
+			log.info("Default admin user created by another instance: {}", email);
+		} catch (DataAccessException e) {
+			log.error("Could not create the default admin user {}; it will be retried on the next start", email, e);
+		}
+	}
+
+	private Department findOrCreateDepartment() {
+		String name = defaultAdminConfig.getDepartmentName();
+		return departmentRepository.findByName(name).orElseGet(() -> {
+			try {
+				return departmentRepository.saveAndFlush(Department.builder()
+						.name(name)
+						.slug(name.toLowerCase())
+						.description(defaultAdminConfig.getDepartmentDescription())
+						.build());
+			} catch (DataIntegrityViolationException e) {
+				// Another instance created it first; a replica may not have the row yet
+				return readYourWrites.onPrimary(() -> departmentRepository.findByName(name)).orElseThrow(() -> e);
+			}
+		});
+	}
+}
@@ -1,14 +1,22 @@
 package ng.darum.employee.service;
 
 import lombok.extern.slf4j.Slf4j;
+import ng.darum.commons.util.PropertyCopier;
+import ng.darum.employee.component.ReadYourWrites;
+import ng.darum.employee.component.RequestCoalescer;
+import ng.darum.employee.dto.DepartmentResponse;
 import ng.darum.employee.entity.Department;
 import ng.darum.employee.repository.DepartmentRepository;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @Slf4j
@@ -17,60 +25,93 @@ public class DepartmentService {
     @Autowired
     DepartmentRepository departmentRepository;
 
-    //create department
-    public Department createDepartment(Department department){
-        if(departmentRepository.existsByName(department.getName())){
-            throw new RuntimeException("Department Already exists");
+    @Autowired
+    RequestCoalescer requestCoalescer;
 
-        }
+    @Autowired
+    ReadYourWrites readYourWrites;
+
+    @Autowired
+    KafkaProducerService kafkaProducerService;
+
+    //create department; a single insert, the unique index on name rejects duplicates
+    //so two concurrent creates of the same name cannot both succeed
+    @Transactional
+    public Department createDepartment(Department department){
         log.info(department.getName());
         department.setSlug(department.getName().toLowerCase()); // Simple slug setup for now
-        return departmentRepository.save(department);
+        Department saved;
+        try {
+            saved = departmentRepository.saveAndFlush(department);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateName(e)) {
+                throw new DuplicateKeyException("Department Already exists", e);
+            }
+            throw e;
+        }
+        //other instances may have cached this name as absent; the new id is what they evict on
+        evictDepartment(saved.getId());
+        return saved;
     }
 
-    //update department
+    //only the name index means the department exists; any other violation is rethrown as is
+    private static boolean isDuplicateName(DataIntegrityViolationException e) {
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        // by name, or by column where an older auto-DDL constraint under another name fired first
+        return cause.contains("idx_departments_name") || cause.contains("(name");
+    }
+
+    //update department; transactional so the row is read from the primary, not a replica or the cache
+    @Transactional
     public Department updateDepartment(Long id,Department department){
-        Department target = departmentRepository.findById(id).orElseThrow(() -> new RuntimeException("Department not found"));
-        copyNonNullProperties(department,target);
-        return departmentRepository.save(target);
+        Department target = departmentRepository.findCurrentById(id).orElseThrow(() -> new RuntimeException("Department not found"));
+        PropertyCopier.copyNonNull(department,target);
+        readYourWrites.recordWrite("department", id);
+        Department saved = departmentRepository.save(target);
+        evictDepartment(id);
+        return saved;
     }
 
     //delete department
+    @Transactional
     public void deleteDepartment(Long id){
         if(!departmentRepository.existsById(id)){
             throw new RuntimeException("Department does not exist");
         }
         departmentRepository.deleteById(id);
+        readYourWrites.recordWrite("department", id);
+        evictDepartment(id);
 
     }
 
-    //get department
-    public Department findDepartmentById(Long id){
-        return departmentRepository.findById(id).orElseThrow(() -> new RuntimeException("Department not found"));
+    //this instance's second-level cache is kept current by Hibernate;
+    //the other instances drop their copy once the change is committed
+    private void evictDepartment(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    kafkaProducerService.publishDepartmentInvalidated(id);
+                }
+            });
+        } else {
+            kafkaProducerService.publishDepartmentInvalidated(id);
+        }
     }
 
-    //get all departments
-    public List<Department> getAllDepartments(){
-        return departmentRepository.findAll();
+    //get department; concurrent reads of the same id share one query,
+    //which goes to the primary for a short while after the department changed.
+    //kept as an entity so it is served from the second-level cache. no transaction here:
+    //only the leader's findById opens its read-only one, so waiting followers hold no connection
+    public Department findDepartmentById(Long id){
+        return requestCoalescer.load("department", id, () -> readYourWrites.read("department", id, () ->
+                departmentRepository.findById(id).orElseThrow(() -> new RuntimeException("Department not found"))));
     }
 
-    protected void copyNonNullProperties(Object src, Object target) {
-        try {
-            final BeanWrapperImpl srcWrap = new BeanWrapperImpl(src);
-            final BeanWrapperImpl trgWrap = new BeanWrapperImpl(target);
-            Arrays.stream(srcWrap.getPropertyDescriptors()).forEach(pd -> {
-                String name = pd.getName();
-                if ("class".equals(name)) return;
-                Object value = srcWrap.getPropertyValue(name);
-                if (value != null && trgWrap.isWritableProperty(name)) {
-                    log.debug("Updating property: {} with value: {}", name, value);
-                    trgWrap.setPropertyValue(name, value);
-                }
-            });
-        } catch (Exception e) {
-            log.error("Error copying properties from source to target", e);
-            throw new RuntimeException("Failed to copy properties: " + e.getMessage(), e);
-        }
+    //get all departments, selected straight into responses
+    @Transactional(readOnly = true)
+    public List<DepartmentResponse> getAllDepartments(){
+        return departmentRepository.findAllResponses();
     }
 
 }
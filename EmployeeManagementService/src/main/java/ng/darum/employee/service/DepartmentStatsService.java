@@ -0,0 +1,110 @@
+package ng.darum.employee.service;
+
+import ng.darum.employee.dto.DepartmentStats;
+import ng.darum.employee.entity.DepartmentStatusCount;
+import ng.darum.employee.entity.Employee;
+import ng.darum.employee.repository.DepartmentStatusCountRepository;
+import ng.darum.employee.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Department headcounts by status, maintained incrementally.
+ * EmployeeService reports every hire, move and leaver inside its own
+ * transaction, so the counts commit or roll back with the change.
+ * Counts for employees that predate them come from migration V5.
+ * Reading the statistics of a department touches only its count rows
+ * and its few latest hires, however large it is.
+ */
+@Service
+public class DepartmentStatsService {
+
+	static final String UNKNOWN_STATUS = "UNKNOWN";
+
+	private final DepartmentStatusCountRepository statusCountRepository;
+	private final EmployeeRepository employeeRepository;
+	private final int recentHires;
+
+	public DepartmentStatsService(DepartmentStatusCountRepository statusCountRepository,
+								  EmployeeRepository employeeRepository,
+								  @Value("${employee.stats.recent-hires:5}") int recentHires) {
+		this.statusCountRepository = statusCountRepository;
+		this.employeeRepository = employeeRepository;
+		this.recentHires = recentHires;
+	}
+
+	@Transactional
+	public void recordHires(Collection<Employee> employees) {
+		Map<CountKey, Long> deltas = new TreeMap<>();
+		for (Employee employee : employees) {
+			add(deltas, employee.getDepartmentId(), employee.getStatus(), 1);
+		}
+		apply(deltas);
+	}
+
+	@Transactional
+	public void recordChange(Long oldDepartmentId, String oldStatus, Long newDepartmentId, String newStatus) {
+		Map<CountKey, Long> deltas = new TreeMap<>();
+		add(deltas, oldDepartmentId, oldStatus, -1);
+		add(deltas, newDepartmentId, newStatus, 1);
+		apply(deltas);
+	}
+
+	@Transactional
+	public void recordLeaver(Employee employee) {
+		recordChange(employee.getDepartmentId(), employee.getStatus(), null, null);
+	}
+
+	@Transactional(readOnly = true)
+	public DepartmentStats getStats(Long departmentId) {
+		Map<String, Long> byStatus = new LinkedHashMap<>();
+		long headcount = 0;
+		List<DepartmentStatusCount> counts = statusCountRepository.findByDepartmentId(departmentId).stream()
+				.sorted(Comparator.comparing(DepartmentStatusCount::getStatus))
+				.toList();
+		for (DepartmentStatusCount count : counts) {
+			if (count.getHeadcount() > 0) {
+				byStatus.put(count.getStatus(), count.getHeadcount());
+				headcount += count.getHeadcount();
+			}
+		}
+		return DepartmentStats.builder()
+				.departmentId(departmentId)
+				.headcount(headcount)
+				.byStatus(byStatus)
+				.recentHires(employeeRepository.findRecentHires(departmentId, Limit.of(recentHires)))
+				.build();
+	}
+
+	private static void add(Map<CountKey, Long> deltas, Long departmentId, String status, long delta) {
+		if (departmentId != null) {
+			deltas.merge(new CountKey(departmentId, status == null ? UNKNOWN_STATUS : status), delta, Long::sum);
+		}
+	}
+
+	// Rows are always updated in key order, so concurrent writers cannot deadlock
+	private void apply(Map<CountKey, Long> deltas) {
+		deltas.forEach((key, delta) -> {
+			if (delta != 0) {
+				statusCountRepository.increment(key.departmentId(), key.status(), delta);
+			}
+		});
+	}
+
+	private record CountKey(Long departmentId, String status) implements Comparable<CountKey> {
+		@Override
+		public int compareTo(CountKey other) {
+			int byDepartment = departmentId.compareTo(other.departmentId);
+			return byDepartment != 0 ? byDepartment : status.compareTo(other.status);
+		}
+	}
+}
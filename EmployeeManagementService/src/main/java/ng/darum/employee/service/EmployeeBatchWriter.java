@@ -0,0 +1,38 @@
+package ng.darum.employee.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import ng.darum.employee.entity.Employee;
+import ng.darum.employee.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Inserts employees in one transaction, flushing one JDBC batch at a time
+ * and clearing the persistence context between batches to keep it small.
+ */
+@Service
+public class EmployeeBatchWriter {
+	// Keep in step with spring.jpa.properties.hibernate.jdbc.batch_size
+	static final int JDBC_BATCH_SIZE = 50;
+
+	@Autowired
+	EmployeeRepository employeeRepository;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Transactional
+	public List<Employee> insertAll(List<Employee> employees) {
+		for (int from = 0; from < employees.size(); from += JDBC_BATCH_SIZE) {
+			List<Employee> chunk = employees.subList(from, Math.min(from + JDBC_BATCH_SIZE, employees.size()));
+			employeeRepository.saveAll(chunk);
+			entityManager.flush();
+			entityManager.clear();
+		}
+		return employees;
+	}
+}
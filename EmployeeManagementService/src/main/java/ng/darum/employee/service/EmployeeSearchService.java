@@ -0,0 +1,138 @@
+package ng.darum.employee.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ng.darum.employee.component.EmployeeSearchIndex;
+import ng.darum.employee.dto.EmployeeResponse;
+import ng.darum.employee.entity.Employee;
+import ng.darum.employee.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Employee search by prefix of, or close match to, first name, last name,
+ * email and employee id.
+ * On Postgres the query runs against the pg_trgm GiST index on
+ * employees.search_text, which returns the nearest rows first so a page costs
+ * the same however many employees match. Elsewhere (H2) the same matching is
+ * served by EmployeeSearchIndex, loaded at startup and kept current on commit.
+ * Either way matches are selected straight into EmployeeResponse.
+ */
+@Service
+@Slf4j
+public class EmployeeSearchService {
+
+	private final EmployeeRepository employeeRepository;
+	private final EmployeeSearchIndex searchIndex;
+	private final boolean trigramIndex;
+	private final int maxResults;
+
+	public EmployeeSearchService(EmployeeRepository employeeRepository,
+								 EmployeeSearchIndex searchIndex,
+								 DataSource dataSource,
+								 @Value("${employee.search.max-results:1000}") int maxResults) {
+		this.employeeRepository = employeeRepository;
+		this.searchIndex = searchIndex;
+		this.trigramIndex = isPostgres(dataSource);
+		this.maxResults = maxResults;
+	}
+
+	/**
+	 * One page of matches, best first.
+	 * Pages stop at employee.search.max-results; a search that needs more
+	 * should be narrowed instead.
+	 */
+	@Transactional(readOnly = true)
+	public List<EmployeeResponse> search(String query, int page, int size) {
+		String normalized = query == null ? "" : query.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+		if (normalized.isEmpty()) {
+			throw new IllegalArgumentException("Search query must not be blank");
+		}
+		if (page < 0 || size < 1) {
+			throw new IllegalArgumentException("Page must be at least 0 and size at least 1");
+		}
+		long offset = (long) page * size;
+		if (offset >= maxResults) {
+			return List.of();
+		}
+		int limit = (int) Math.min(size, maxResults - offset);
+
+		if (trigramIndex) {
+			return employeeRepository.searchByTrigram(normalized, "%" + escapeLike(normalized) + "%", limit, (int) offset);
+		}
+		List<Long> ids = searchIndex.search(normalized, (int) offset, limit);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, EmployeeResponse> byId = new HashMap<>();
+		employeeRepository.findResponsesById(ids).forEach(employee -> byId.put(employee.id(), employee));
+		return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+	}
+
+	public void indexed(Collection<Employee> employees) {
+		if (!trigramIndex) {
+			afterCommit(() -> employees.forEach(searchIndex::put));
+		}
+	}
+
+	public void removed(Long id) {
+		if (!trigramIndex) {
+			afterCommit(() -> searchIndex.remove(id));
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void loadIndex() {
+		if (trigramIndex) {
+			return;
+		}
+		try (Stream<Employee> employees = employeeRepository.streamAll()) {
+			employees.forEach(searchIndex::put);
+		}
+		log.info("Loaded {} employees into the in-memory search index", searchIndex.size());
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	private static String escapeLike(String text) {
+		return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	private static boolean isPostgres(DataSource dataSource) {
+		try {
+			String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+			return "PostgreSQL".equals(product);
+		} catch (MetaDataAccessException e) {
+			log.warn("Could not detect the database, falling back to the in-memory search index", e);
+			return false;
+		}
+	}
+}
@@ -1,25 +1,61 @@
 package ng.darum.employee.service;
 
-import jakarta.annotation.PostConstruct;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import ng.darum.commons.dto.UserEvent;
-import ng.darum.employee.config.DefaultAdminConfig;
+import ng.darum.commons.util.PropertyCopier;
+import ng.darum.employee.component.EmployeeCache;
+import ng.darum.employee.component.ReadYourWrites;
+import ng.darum.employee.component.RequestCoalescer;
+import ng.darum.employee.component.RequesterCache;
+import ng.darum.employee.dto.BatchItemResult;
+import ng.darum.employee.dto.CursorPage;
+import ng.darum.employee.dto.DepartmentStats;
 import ng.darum.employee.dto.EmployeeRequest;
-import ng.darum.employee.entity.Department;
+import ng.darum.employee.dto.EmployeeResponse;
+import ng.darum.employee.dto.RequesterContext;
 import ng.darum.employee.entity.Employee;
-import ng.darum.employee.enums.Role;
-import ng.darum.employee.repository.DepartmentRepository;
+import ng.darum.employee.enums.ExportFormat;
 import ng.darum.employee.repository.EmployeeRepository;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class EmployeeService {
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 200;
+	public static final int MAX_BATCH_SIZE = 5000;
+	// Matches the JDBC fetch size of EmployeeRepository.streamAll
+	private static final int EXPORT_FLUSH_EVERY = 500;
+	private static final String CSV_HEADER = "id,employeeId,firstName,lastName,email,status,departmentId,createdAt,updatedAt";
+
 	@Autowired
 	EmployeeRepository employeeRepository;
 
@@ -27,62 +63,153 @@ public class EmployeeService {
 	KafkaProducerService kafkaProducerService;
 
 	@Autowired
-	DepartmentRepository departmentRepository;
+	OutboxService outboxService;
+
+	@Autowired
+	EmployeeBatchWriter employeeBatchWriter;
+
+	@Autowired
+	EmployeeCache employeeCache;
+
+	@Autowired
+	RequesterCache requesterCache;
+
+	@Autowired
+	RequestCoalescer requestCoalescer;
+
+	@Autowired
+	ReadYourWrites readYourWrites;
+
+	@Autowired
+	DepartmentStatsService departmentStatsService;
+
+	@Autowired
+	EmployeeSearchService employeeSearchService;
+
 	@Autowired
-	DefaultAdminConfig defaultAdminConfig;
-
-	@PostConstruct
-	public void createDefaultAdminUser() {
-		String email = defaultAdminConfig.getEmail();
-
-		if (!employeeRepository.existsByEmail(email)) {
-			// Create department if it doesn’t exist
-			Department department = departmentRepository
-					.findByName(defaultAdminConfig.getDepartmentName())
-					.orElseGet(() -> departmentRepository.save(
-							Department.builder()
-									.name(defaultAdminConfig.getDepartmentName())
-									.description(defaultAdminConfig.getDepartmentDescription())
-									.build()
-					));
-
-			// Create admin user
-			EmployeeRequest user = EmployeeRequest.builder()
-					.email(email)
-					.firstName(defaultAdminConfig.getFirstName())
-					.lastName(defaultAdminConfig.getLastName())
-					.password(defaultAdminConfig.getPassword())
-					.departmentId(department.getId())
-					.role(Role.ADMIN)
+	ObjectMapper objectMapper;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Transactional
+	public Employee createEmployee(EmployeeRequest employeeRequest){
+		Employee saved;
+		try {
+			// Flushed here so a taken email surfaces as a conflict rather than at commit
+			saved=employeeRepository.saveAndFlush(toEmployee(employeeRequest));
+		} catch (DataIntegrityViolationException e) {
+			if (isDuplicateEmail(e)) {
+				throw new DuplicateKeyException("Employee already exists with this email", e);
+			}
+			throw e;
+		}
+		departmentStatsService.recordHires(List.of(saved));
+		employeeSearchService.indexed(List.of(saved));
+		outboxService.enqueueUserCreated(toCreatedEvent(saved, employeeRequest));
+		return saved;
+	}
+
+	//only the email index means a taken email; any other violation (a missing department, a null column) is rethrown as is
+	private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+		String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+		// by name, or by column where an older auto-DDL constraint under another name fired first
+		return cause.contains("idx_employees_email") || cause.contains("(email");
+	}
+
+	//create many employees at once; invalid entries are rejected individually
+	@Transactional
+	public List<BatchItemResult> createEmployees(List<EmployeeRequest> requests){
+		if (requests == null || requests.isEmpty()) {
+			throw new IllegalArgumentException("Batch must contain at least one employee");
+		}
+		if (requests.size() > MAX_BATCH_SIZE) {
+			throw new IllegalArgumentException("Batch cannot contain more than " + MAX_BATCH_SIZE + " employees");
+		}
+
+		Set<String> existingEmails = new HashSet<>(employeeRepository.findExistingEmails(
+				requests.stream().filter(Objects::nonNull).map(EmployeeRequest::getEmail).filter(Objects::nonNull).toList()));
+		Set<String> seenEmails = new HashSet<>();
+
+		BatchItemResult[] results = new BatchItemResult[requests.size()];
+		List<Integer> acceptedIndexes = new ArrayList<>();
+		List<Employee> accepted = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			EmployeeRequest request = requests.get(i);
+			String error = validateBatchItem(request, existingEmails, seenEmails);
+			if (error != null) {
+				results[i] = BatchItemResult.builder()
+						.index(i)
+						.status(BatchItemResult.REJECTED)
+						.email(request == null ? null : request.getEmail())
+						.message(error)
+						.build();
+				continue;
+			}
+			acceptedIndexes.add(i);
+			accepted.add(toEmployee(request));
+		}
+
+		List<Employee> saved = accepted.isEmpty() ? List.of() : employeeBatchWriter.insertAll(accepted);
+		departmentStatsService.recordHires(saved);
+		employeeSearchService.indexed(saved);
+
+		List<UserEvent> events = new ArrayList<>(saved.size());
+		for (int j = 0; j < saved.size(); j++) {
+			int index = acceptedIndexes.get(j);
+			Employee employee = saved.get(j);
+			events.add(toCreatedEvent(employee, requests.get(index)));
+			results[index] = BatchItemResult.builder()
+					.index(index)
+					.status(BatchItemResult.CREATED)
+					.id(employee.getId())
+					.email(employee.getEmail())
 					.build();
+		}
+		if (!events.isEmpty()) {
+			outboxService.enqueueUserCreated(events);
+		}
+		return Arrays.asList(results);
+	}
 
-			createEmployee(user);
-			System.out.println("✅ Default admin user created: " + email);
-		} else {
-			System.out.println("ℹ️ Admin user already exists: " + email);
+	private static String validateBatchItem(EmployeeRequest request, Set<String> existingEmails, Set<String> seenEmails) {
+		if (request == null) {
+			return "Employee entry is empty";
+		}
+		if (request.getEmail() == null || request.getEmail().isBlank()) {
+			return "Email is required";
 		}
+		if (existingEmails.contains(request.getEmail())) {
+			return "Employee already exists with this email";
+		}
+		if (!seenEmails.add(request.getEmail())) {
+			return "Duplicate email in batch";
+		}
+		return null;
 	}
-	public Employee createEmployee(EmployeeRequest employeeRequest){
+
+	private Employee toEmployee(EmployeeRequest employeeRequest) {
 		Employee employee = Employee.builder()
 				.firstName(employeeRequest.getFirstName())
 				.lastName(employeeRequest.getLastName())
 				.employeeId(employeeRequest.getEmployeeId())
 				.departmentId(employeeRequest.getDepartmentId())
 				.build();
-		copyNonNullProperties(employeeRequest,employee);
-		Employee saved=employeeRepository.save(employee);
-		UserEvent event = UserEvent.builder()
+		PropertyCopier.copyNonNull(employeeRequest,employee);
+		return employee;
+	}
+
+	private static UserEvent toCreatedEvent(Employee saved, EmployeeRequest employeeRequest) {
+		return UserEvent.builder()
 				.id(saved.getId())
 				.email(employeeRequest.getEmail())
 				.password(employeeRequest.getPassword())
 				.role(employeeRequest.getRole())
 				.build();
-
-		kafkaProducerService.publishUserCreatedEvent(event);
-		return saved;
 	}
 
 	//update department
+	@Transactional
 	public Employee updateEmployee(Long id, EmployeeRequest employee){
 		Employee target = employeeRepository.findById(id).orElseThrow(() -> new RuntimeException("Employee not found"));
 		if(employee.getEmail()!=null||employee.getRole()!=null||employee.getPassword()!=null) {
@@ -93,69 +220,188 @@ public class EmployeeService {
 					.role(employee.getRole())
 					.build();
 
-			kafkaProducerService.publishUserUpdatedEvent(event);
+			outboxService.enqueueUserUpdated(event);
 		}
-		copyNonNullProperties(employee,target);
-		return employeeRepository.save(target);
+		Long oldDepartmentId = target.getDepartmentId();
+		String oldStatus = target.getStatus();
+		PropertyCopier.copyNonNull(employee,target);
+		Employee saved = employeeRepository.save(target);
+		departmentStatsService.recordChange(oldDepartmentId, oldStatus, saved.getDepartmentId(), saved.getStatus());
+		employeeSearchService.indexed(List.of(saved));
+		evictEmployee(id);
+		return saved;
 	}
 
 	//delete department
+	@Transactional
 	public void deleteEmployee(Long id){
 
-		if(!employeeRepository.existsById(id)){
-			throw new RuntimeException("Employee does not exist");
-		}
+		Employee target = employeeRepository.findById(id).orElseThrow(() -> new RuntimeException("Employee does not exist"));
 		employeeRepository.deleteById(id);
+		departmentStatsService.recordLeaver(target);
+		employeeSearchService.removed(id);
+		evictEmployee(id);
 		UserEvent event = UserEvent.builder()
 				.id(id)
 				.build();
 
-		kafkaProducerService.publishUserDeletedEvent(event);
+		outboxService.enqueueUserDeleted(event);
+
 
+	}
+
+	//get employee; read from the primary for a short while after it changed, so no stale replica row is cached.
+	//cache hits need no transaction; on a miss the read-only repository query goes to a replica
+	public EmployeeResponse findEmployeeById(Long id){
+		return employeeCache.get(id, key -> readYourWrites.read("employee", key, () ->
+				employeeRepository.findResponseById(key).orElseThrow(() -> new RuntimeException("Employee not found"))));
+	}
 
+	//drop the employee from this replica's cache and tell the other replicas to do the same,
+	//once the change is committed so no reader can cache the old row again
+	private void evictEmployee(Long id) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evictEmployeeNow(id);
+				}
+			});
+		} else {
+			evictEmployeeNow(id);
+		}
 	}
 
-	//get department
-	public Employee findEmployeeById(Long id){
-		return employeeRepository.findById(id).orElseThrow(() -> new RuntimeException("Employee not found"));
+	private void evictEmployeeNow(Long id) {
+		readYourWrites.recordWrite("employee", id);
+		employeeCache.invalidate(id);
+		requesterCache.invalidateEmployee(id);
+		kafkaProducerService.publishEmployeeInvalidated(id);
 	}
 
-	//get all departments
-	public List<Employee> getAllEmployees(){
-		return employeeRepository.findAll();
+	//get all employees
+	@Transactional(readOnly = true)
+	public List<EmployeeResponse> getAllEmployees(){
+		return employeeRepository.findAllResponses();
 	}
 
+	//get one keyset page of employees, ordered by id
+	@Transactional(readOnly = true)
+	public CursorPage<EmployeeResponse> getEmployeesPage(String cursor, Integer size){
+		int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size must be at least 1");
+		}
+		pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+		Long afterId = cursor == null || cursor.isBlank() ? 0L : CursorPage.decodeCursor(cursor);
 
+		// Fetch one extra row to find out whether another page exists
+		List<EmployeeResponse> rows = employeeRepository.findResponsesAfter(afterId, Limit.of(pageSize + 1));
+		if (rows.size() <= pageSize) {
+			return new CursorPage<>(rows, null);
+		}
+		List<EmployeeResponse> items = rows.subList(0, pageSize);
+		return new CursorPage<>(items, CursorPage.encodeCursor(items.get(pageSize - 1).id()));
+	}
 
+	//employees matching a name, email or employee id prefix or close spelling, best first
+	public List<EmployeeResponse> searchEmployees(String query, Integer page, Integer size){
+		int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+		return employeeSearchService.search(query, page == null ? 0 : page, pageSize);
+	}
 
+	//stream every employee to the output without holding the table in memory
+	@Transactional(readOnly = true)
+	public void exportEmployees(ExportFormat format, OutputStream out) throws IOException {
+		try (Stream<Employee> employees = employeeRepository.streamAll()) {
+			if (format == ExportFormat.CSV) {
+				writeCsv(employees.iterator(), out);
+			} else {
+				writeNdjson(employees.iterator(), out);
+			}
+		}
+	}
 
+	private void writeNdjson(Iterator<Employee> employees, OutputStream out) throws IOException {
+		SequenceWriter writer = objectMapper.writer()
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.withRootValueSeparator("\n")
+				.writeValues(out);
+		int written = 0;
+		while (employees.hasNext()) {
+			Employee employee = employees.next();
+			writer.write(employee);
+			entityManager.detach(employee);
+			if (++written % EXPORT_FLUSH_EVERY == 0) {
+				writer.flush();
+			}
+		}
+		writer.close();
+		out.write('\n');
+		out.flush();
+	}
 
+	private void writeCsv(Iterator<Employee> employees, OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writer.write(CSV_HEADER);
+		writer.write('\n');
+		int written = 0;
+		while (employees.hasNext()) {
+			Employee employee = employees.next();
+			writer.write(toCsvRow(employee));
+			writer.write('\n');
+			entityManager.detach(employee);
+			if (++written % EXPORT_FLUSH_EVERY == 0) {
+				writer.flush();
+			}
+		}
+		writer.flush();
+	}
 
+	private static String toCsvRow(Employee employee) {
+		return String.join(",",
+				csv(employee.getId()),
+				csv(employee.getEmployeeId()),
+				csv(employee.getFirstName()),
+				csv(employee.getLastName()),
+				csv(employee.getEmail()),
+				csv(employee.getStatus()),
+				csv(employee.getDepartmentId()),
+				csv(employee.getCreatedAt()),
+				csv(employee.getUpdatedAt()));
+	}
 
-	protected void copyNonNullProperties(Object src, Object target) {
-		try {
-			final BeanWrapperImpl srcWrap = new BeanWrapperImpl(src);
-			final BeanWrapperImpl trgWrap = new BeanWrapperImpl(target);
-			Arrays.stream(srcWrap.getPropertyDescriptors()).forEach(pd -> {
-				String name = pd.getName();
-				if ("class".equals(name)) return;
-				Object value = srcWrap.getPropertyValue(name);
-				if (value != null && trgWrap.isWritableProperty(name)) {
-					log.debug("Updating property: {} with value: {}", name, value);
-					trgWrap.setPropertyValue(name, value);
-				}
-			});
-		} catch (Exception e) {
-			log.error("Error copying properties from source to target", e);
-			throw new RuntimeException("Failed to copy properties: " + e.getMessage(), e);
+	private static String csv(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String text = value.toString();
+		if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+			return "\"" + text.replace("\"", "\"\"") + "\"";
 		}
+		return text;
 	}
 
-	public List<Employee> getDepartmentEmployees(Long departmentId) {
-		return employeeRepository.findByDepartmentId(departmentId);
+	//headcount, status breakdown and latest hires of a department, from maintained counts
+	public DepartmentStats getDepartmentStats(Long departmentId) {
+		return departmentStatsService.getStats(departmentId);
 	}
 
+	//concurrent reads of the same department share one query; only the leader's
+	//repository call opens a read-only transaction, so waiting followers hold no connection
+	public List<EmployeeResponse> getDepartmentEmployees(Long departmentId) {
+		return requestCoalescer.load("department-employees", departmentId, () ->
+				employeeRepository.findResponsesByDepartmentId(departmentId));
+	}
+
+	@Transactional(readOnly = true)
 	public Employee findEmployeeByEmail(String userEmail) {
 		return employeeRepository.findByEmail(userEmail).orElseThrow(()-> new IllegalArgumentException("No employee found with given email"));
 	}
+
+	//id and department of the caller, for access checks; cached by email, misses read from a replica
+	public RequesterContext findRequester(String userEmail) {
+		return requesterCache.get(userEmail, key ->
+				employeeRepository.findRequesterByEmail(key).orElseThrow(()-> new IllegalArgumentException("No employee found with given email")));
+	}
 }
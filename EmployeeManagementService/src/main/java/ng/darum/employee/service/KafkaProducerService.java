@@ -4,38 +4,49 @@ import lombok.extern.slf4j.Slf4j;
 import ng.darum.commons.dto.UserEvent;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @Slf4j
 public class KafkaProducerService {
     private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final KafkaTemplate<String, Long> invalidationTemplate;
 
-    @Value("${employee.topic.name}")
-    private String userCreatedTopic;
-
-    @Value("${update.topic.name}")
-    private String userUpdatedTopic;
+    @Value("${employee.cache.invalidation.topic:employee-cache-invalidation}")
+    private String cacheInvalidationTopic;
 
-    @Value("${delete.topic.name}")
-    private String userDeletedTopic;
+    @Value("${employee.cache.department-invalidation.topic:department-cache-invalidation}")
+    private String departmentInvalidationTopic;
 
 
-    public KafkaProducerService(KafkaTemplate<String, UserEvent> kafkaTemplate) {
+    public KafkaProducerService(KafkaTemplate<String, UserEvent> kafkaTemplate,
+                                KafkaTemplate<String, Long> invalidationTemplate) {
         this.kafkaTemplate = kafkaTemplate;
+        this.invalidationTemplate = invalidationTemplate;
     }
 
-    public void publishUserCreatedEvent(UserEvent event) {
+    /**
+     * Sends a user event without waiting for the broker; callers that need
+     * delivery (the outbox relay) wait on the returned future.
+     */
+    public CompletableFuture<SendResult<String, UserEvent>> send(String topic, String key, UserEvent event) {
         getInfo(event);
-        kafkaTemplate.send(userCreatedTopic, String.valueOf(event.getEmail()), event);
+        return kafkaTemplate.send(topic, key, event);
     }
-    public void publishUserUpdatedEvent(UserEvent event) {
-        getInfo(event);
-        kafkaTemplate.send(userUpdatedTopic, String.valueOf(event.getEmail()), event);
+
+    public void flush() {
+        kafkaTemplate.flush();
     }
-    public void publishUserDeletedEvent(UserEvent event) {
-        getInfo(event);
-        kafkaTemplate.send(userDeletedTopic, String.valueOf(event.getEmail()), event);
+
+    public void publishEmployeeInvalidated(Long employeeId) {
+        invalidationTemplate.send(cacheInvalidationTopic, String.valueOf(employeeId), employeeId);
+    }
+
+    public void publishDepartmentInvalidated(Long departmentId) {
+        invalidationTemplate.send(departmentInvalidationTopic, String.valueOf(departmentId), departmentId);
     }
 
     private static void getInfo(UserEvent event) {
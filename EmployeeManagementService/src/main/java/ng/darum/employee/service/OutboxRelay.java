@@ -0,0 +1,206 @@
+package ng.darum.employee.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ng.darum.commons.dto.UserEvent;
+import ng.darum.employee.component.OutboxCipher;
+import ng.darum.employee.entity.OutboxEvent;
+import ng.darum.employee.repository.OutboxEventRepository;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox to Kafka in seq order.
+ * A batch is claimed in a short transaction, sent with no transaction or lock
+ * held, and settled in a second one: acknowledged events are deleted, failed
+ * ones are released for the next poll. Failures that retrying cannot fix (an
+ * unreadable payload, a record the broker rejects) count as attempts, and an
+ * event that reaches employee.outbox.max-attempts is parked and skipped from
+ * then on, so one bad row cannot hold up the rest. Timeouts and other
+ * retriable broker errors are retried without limit, so an outage parks
+ * nothing. While a claim is live no other relay starts a batch, which keeps
+ * one batch in flight at a time.
+ * Ordering is best-effort: seq follows insert order, and an event that is
+ * retried or parked goes out after, or without, the ones behind it. Events are
+ * keyed by employee id, so an employee's events on a topic share one partition.
+ * Delivery is at-least-once and consumers must tolerate duplicates.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxCipher outboxCipher;
+
+    @Value("${employee.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${employee.outbox.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    @Value("${employee.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, KafkaProducerService kafkaProducerService,
+                       ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+                       OutboxCipher outboxCipher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaProducerService = kafkaProducerService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxCipher = outboxCipher;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.outbox.poll-interval:500ms}")
+    public void drain() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed, retrying on the next poll", e);
+        }
+    }
+
+    int relayBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        // Hand the whole batch to the producer before waiting, so it goes out in as few requests as possible
+        Map<Long, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            sends.put(event.getId(), send(event));
+        }
+        kafkaProducerService.flush();
+        try {
+            CompletableFuture.allOf(sends.values().toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Failed and unacknowledged sends are settled one by one below
+        }
+
+        List<Long> acknowledged = new ArrayList<>();
+        Map<Long, Throwable> failed = new LinkedHashMap<>();
+        sends.forEach((id, send) -> {
+            Throwable failure = failure(send);
+            if (failure == null) {
+                acknowledged.add(id);
+            } else {
+                failed.put(id, failure);
+            }
+        });
+        transactionTemplate.execute(status -> settle(acknowledged, failed));
+        log.debug("Relayed {} outbox events, {} failed", acknowledged.size(), failed.size());
+        // A batch with failures ends this drain; they are retried on the next poll
+        return acknowledged.size();
+    }
+
+    // Nothing is claimed while another relay's claim is live, so only one batch is in flight
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(batchSize));
+        if (batch.stream().anyMatch(event -> event.getClaimedUntil() != null && event.getClaimedUntil().isAfter(now))) {
+            return List.of();
+        }
+        if (!batch.isEmpty()) {
+            // Outlives the send timeout, so a relay that died mid-batch only delays the next one
+            outboxEventRepository.claim(batch.stream().map(OutboxEvent::getId).toList(), now.plus(sendTimeout.multipliedBy(3)));
+        }
+        return batch;
+    }
+
+    private Void settle(List<Long> acknowledged, Map<Long, Throwable> failed) {
+        if (!acknowledged.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(acknowledged);
+        }
+        for (OutboxEvent event : outboxEventRepository.findAllById(failed.keySet())) {
+            Throwable failure = failed.get(event.getId());
+            event.setLastError(describe(failure));
+            event.setClaimedUntil(null);
+            if (!isRetriable(failure)) {
+                event.setAttempts(event.getAttempts() + 1);
+            }
+            if (event.getAttempts() >= maxAttempts) {
+                event.setParkedAt(LocalDateTime.now());
+                log.error("Parked outbox event {} for topic {} after {} failed attempts",
+                        event.getId(), event.getTopic(), event.getAttempts(), failure);
+            } else {
+                log.warn("Failed to publish outbox event {} ({} failed attempts), retrying on the next poll: {}",
+                        event.getId(), event.getAttempts(), event.getLastError());
+            }
+        }
+        return null;
+    }
+
+    // A payload that cannot be read or sent fails like a rejected send
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return kafkaProducerService.send(event.getTopic(), event.getEventKey(), readPayload(event));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private UserEvent readPayload(OutboxEvent event) {
+        try {
+            UserEvent payload = objectMapper.readValue(event.getPayload(), UserEvent.class);
+            payload.setPassword(outboxCipher.open(payload.getPassword()));
+            return payload;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable outbox event " + event.getId(), e);
+        }
+    }
+
+    private static Throwable failure(CompletableFuture<?> send) {
+        if (!send.isDone()) {
+            return new TimeoutException("Not acknowledged within the send timeout");
+        }
+        if (!send.isCompletedExceptionally()) {
+            return null;
+        }
+        try {
+            send.join();
+            return null;
+        } catch (Exception e) {
+            return e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private static boolean isRetriable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String describe(Throwable failure) {
+        String description = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        return description.length() <= MAX_ERROR_LENGTH ? description : description.substring(0, MAX_ERROR_LENGTH);
+    }
+}
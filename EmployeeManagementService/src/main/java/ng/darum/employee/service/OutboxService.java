@@ -0,0 +1,81 @@
+package ng.darum.employee.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ng.darum.commons.dto.UserEvent;
+import ng.darum.employee.component.OutboxCipher;
+import ng.darum.employee.entity.OutboxEvent;
+import ng.darum.employee.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Records user lifecycle events in the outbox table, inside the caller's
+ * transaction, so an event exists if and only if its change was committed.
+ * OutboxRelay publishes them to Kafka afterwards.
+ * Events are keyed by employee id, which never changes, so an employee's events
+ * on a topic share one partition and keep their order. Passwords are stored encrypted.
+ */
+@Service
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxCipher outboxCipher;
+
+    @Value("${employee.topic.name}")
+    private String userCreatedTopic;
+
+    @Value("${update.topic.name}")
+    private String userUpdatedTopic;
+
+    @Value("${delete.topic.name}")
+    private String userDeletedTopic;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                         OutboxCipher outboxCipher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.outboxCipher = outboxCipher;
+    }
+
+    @Transactional
+    public void enqueueUserCreated(UserEvent event) {
+        outboxEventRepository.save(toOutboxEvent(userCreatedTopic, event));
+    }
+
+    @Transactional
+    public void enqueueUserCreated(List<UserEvent> events) {
+        outboxEventRepository.saveAll(events.stream().map(event -> toOutboxEvent(userCreatedTopic, event)).toList());
+    }
+
+    @Transactional
+    public void enqueueUserUpdated(UserEvent event) {
+        outboxEventRepository.save(toOutboxEvent(userUpdatedTopic, event));
+    }
+
+    @Transactional
+    public void enqueueUserDeleted(UserEvent event) {
+        outboxEventRepository.save(toOutboxEvent(userDeletedTopic, event));
+    }
+
+    private OutboxEvent toOutboxEvent(String topic, UserEvent event) {
+        UserEvent stored = UserEvent.builder()
+                .id(event.getId())
+                .email(event.getEmail())
+                .role(event.getRole())
+                .password(outboxCipher.seal(event.getPassword()))
+                .build();
+        try {
+            return OutboxEvent.builder()
+                    .topic(topic)
+                    .eventKey(String.valueOf(event.getId()))
+                    .payload(objectMapper.writeValueAsString(stored))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialise event: " + e.getMessage(), e);
+        }
+    }
+}
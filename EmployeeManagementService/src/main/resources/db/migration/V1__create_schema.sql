@@ -0,0 +1,46 @@
+-- Tables as Hibernate auto-DDL used to create them.
+-- Databases created that way are baselined at version 0, so this script runs
+-- against them too and leaves their existing tables alone.
+
+create sequence if not exists employees_seq start with 1 increment by 50;
+create sequence if not exists outbox_events_seq start with 1 increment by 50;
+
+create table if not exists employees (
+    id bigint not null,
+    user_id bigint,
+    email varchar(255),
+    employee_id varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    status varchar(255),
+    department_id bigint,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table if not exists departments (
+    id bigint generated by default as identity,
+    name varchar(255),
+    slug varchar(255),
+    description varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table if not exists outbox_events (
+    id bigint not null,
+    topic varchar(255) not null,
+    event_key varchar(255),
+    payload text not null,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table if not exists department_status_counts (
+    department_id bigint not null,
+    status varchar(255) not null,
+    headcount bigint not null,
+    primary key (department_id, status)
+);
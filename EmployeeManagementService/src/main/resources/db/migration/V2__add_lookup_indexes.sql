@@ -0,0 +1,12 @@
+-- Indexes for the repository finders on the request path.
+-- The unique indexes fail on a database that already holds duplicate emails
+-- or department names; those rows have to be merged before upgrading.
+
+-- existsByEmail, findByEmail, findRequesterByEmail, findExistingEmails
+create unique index if not exists idx_employees_email on employees (email);
+
+-- findByDepartmentId, and findRecentHires read its newest rows in index order
+create index if not exists idx_employees_department_created on employees (department_id, created_at desc, id desc);
+
+-- existsByName, findByName
+create unique index if not exists idx_departments_name on departments (name);
@@ -0,0 +1,12 @@
+-- Counts for employees that existed before department_status_counts was
+-- maintained. Flyway applies this once, before the application serves any
+-- request and under its own lock, so no hire can race it and a second
+-- instance starting at the same time waits for it instead of repeating it.
+-- Skipped where the counts were already rebuilt by the old startup backfill.
+
+insert into department_status_counts (department_id, status, headcount)
+select department_id, coalesce(status, 'UNKNOWN'), count(*)
+from employees
+where department_id is not null
+  and not exists (select 1 from department_status_counts)
+group by department_id, coalesce(status, 'UNKNOWN');
@@ -0,0 +1,17 @@
+-- seq is assigned by the database as each outbox row is inserted, so the relay's
+-- send order no longer depends on the clocks of the instances that wrote the rows.
+-- attempts and last_error record failed sends; a row that keeps failing is parked
+-- (parked_at) and skipped by the relay until someone deals with it.
+-- claimed_until marks rows a relay is sending outside its database transaction.
+
+alter table outbox_events add column if not exists seq bigint generated by default as identity;
+
+alter table outbox_events add column if not exists attempts integer default 0 not null;
+
+alter table outbox_events add column if not exists last_error varchar(1000);
+
+alter table outbox_events add column if not exists claimed_until timestamp(6);
+
+alter table outbox_events add column if not exists parked_at timestamp(6);
+
+create index if not exists idx_outbox_events_seq on outbox_events (seq);
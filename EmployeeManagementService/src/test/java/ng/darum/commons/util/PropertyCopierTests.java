@@ -0,0 +1,61 @@
+package ng.darum.commons.util;
+
+import ng.darum.employee.dto.EmployeeRequest;
+import ng.darum.employee.entity.Department;
+import ng.darum.employee.entity.Employee;
+import ng.darum.employee.enums.Role;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PropertyCopier
+ * Covers copying between different and identical class pairs
+ */
+class PropertyCopierTest {
+
+    /**
+     * Test copyNonNull from a request DTO onto an existing entity
+     * Verifies that only non-null, matching properties are written
+     */
+    @Test
+    void testCopyNonNull_FromRequestToEntity_ShouldCopyOnlyNonNullValues() {
+        // Arrange
+        EmployeeRequest request = EmployeeRequest.builder()
+                .email("new@company.com")
+                .role(Role.MANAGER)
+                .departmentId(20L)
+                .build();
+        Employee target = Employee.builder()
+                .id(1L)
+                .email("old@company.com")
+                .firstName("John")
+                .departmentId(10L)
+                .build();
+
+        // Act
+        PropertyCopier.copyNonNull(request, target);
+
+        // Assert
+        assertEquals(1L, target.getId(), "ID is not on the request and should be kept");
+        assertEquals("new@company.com", target.getEmail());
+        assertEquals("John", target.getFirstName(), "Null first name should not overwrite");
+        assertEquals(20L, target.getDepartmentId());
+    }
+
+    /**
+     * Test copyNonNull between two instances of the same class, twice
+     * Verifies that the cached plan gives the same result on reuse
+     */
+    @Test
+    void testCopyNonNull_WithSameClassRepeatedly_ShouldReuseCachedPlan() {
+        Department target = Department.builder().id(1L).name("Engineering").description("Builds things").build();
+
+        PropertyCopier.copyNonNull(Department.builder().description("Ships things").build(), target);
+        PropertyCopier.copyNonNull(Department.builder().name("Platform").build(), target);
+
+        assertEquals(1L, target.getId());
+        assertEquals("Platform", target.getName());
+        assertEquals("Ships things", target.getDescription());
+    }
+}
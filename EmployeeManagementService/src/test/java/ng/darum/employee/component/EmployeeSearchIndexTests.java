@@ -0,0 +1,77 @@
+package ng.darum.employee.component;
+
+import ng.darum.employee.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSearchIndexTest {
+
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.put(employee(1L, "Jonathon", "Smith", "jsmith@company.com", "EMP001"));
+        index.put(employee(2L, "Jon", "Doe", "jon.doe@company.com", "EMP002"));
+        index.put(employee(3L, "Mary", "Jones", "mary@company.com", "EMP003"));
+        index.put(employee(5L, "Jonathan", "Okafor", "j.okafor@company.com", "ENG005"));
+    }
+
+    @Test
+    void testSearch_ShouldMatchPrefixOfAnyField() {
+        assertThat(index.search("jon", 0, 10)).containsExactly(1L, 2L, 3L, 5L);
+        assertThat(index.search("okaf", 0, 10)).containsExactly(5L);
+        assertThat(index.search("DOE", 0, 10)).containsExactly(2L);
+        assertThat(index.search("eng0", 0, 10)).containsExactly(5L);
+        assertThat(index.search("mary@comp", 0, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void testSearch_ShouldMatchCloseSpellings_AfterPrefixMatches() {
+        // "jonatha" is a prefix of Jonathan and a close spelling of Jonathon
+        assertThat(index.search("jonatha", 0, 10)).containsExactly(5L, 1L);
+        assertThat(index.search("jonathn", 0, 10)).containsExactly(1L, 5L);
+        assertThat(index.search("okafr", 0, 10)).containsExactly(5L);
+    }
+
+    @Test
+    void testSearch_ShouldRequireEveryWord() {
+        assertThat(index.search("jon doe", 0, 10)).containsExactly(2L);
+        assertThat(index.search("jon zebra", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void testSearch_ShouldPage() {
+        assertThat(index.search("jon", 1, 2)).containsExactly(2L, 3L);
+        assertThat(index.search("jon", 4, 2)).isEmpty();
+    }
+
+    @Test
+    void testPut_ShouldReplacePreviousTokens() {
+        index.put(employee(2L, "Ade", "Bello", "ade.bello@company.com", "EMP002"));
+
+        assertThat(index.search("doe", 0, 10)).isEmpty();
+        assertThat(index.search("bell", 0, 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testRemove_ShouldDropEmployee() {
+        index.remove(3L);
+
+        assertThat(index.search("mary", 0, 10)).isEmpty();
+        assertThat(index.search("jon", 0, 10)).containsExactly(1L, 2L, 5L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String email, String employeeId) {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .employeeId(employeeId)
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package ng.darum.employee.component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two in-memory H2 databases, each holding its own name,
+ * standing in for the primary and a read replica.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void testReadOnlyTransaction_ShouldUseReplica() {
+        Routing routing = routing(database("replica"));
+
+        assertThat(routing.read(true)).isEqualTo("replica");
+        assertThat(routing.read(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void testOnPrimary_ShouldUsePrimaryForReadOnlyTransaction() {
+        Routing routing = routing(database("replica"));
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), 100);
+
+        assertThat(readYourWrites.onPrimary(() -> routing.read(true))).isEqualTo("primary");
+        assertThat(routing.read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void testRecentWrite_ShouldReadFromPrimaryOnlyForThatKey() {
+        Routing routing = routing(database("replica"));
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), 100);
+
+        readYourWrites.recordWrite("employee", 1L);
+
+        assertThat(readYourWrites.read("employee", 1L, () -> routing.read(true))).isEqualTo("primary");
+        assertThat(readYourWrites.read("employee", 2L, () -> routing.read(true))).isEqualTo("replica");
+    }
+
+    @Test
+    void testReplicaDown_ShouldSkipItAndFallBackToPrimary() {
+        HikariDataSource replica = database("replica");
+        Routing routing = routing(unreachable(), replica);
+
+        assertThat(routing.read(true)).isEqualTo("replica");
+        assertThat(routing.read(true)).isEqualTo("replica");
+        assertThat(routing.replicas.healthyCount()).isEqualTo(1);
+
+        replica.close();
+
+        assertThat(routing.read(true)).isEqualTo("primary");
+        assertThat(routing.replicas.healthyCount()).isZero();
+        assertThat(meterRegistry.get("datasource.replica.fallback").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testCheckHealth_ShouldKeepUnreachableReplicaOutOfRotation() {
+        Routing routing = routing(unreachable(), database("replica"));
+
+        routing.replicas.checkHealth();
+
+        assertThat(routing.replicas.healthyCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replicas.healthy").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testScheduleHealthChecks_ShouldTakeUnreachableReplicaOutOfRotation() throws InterruptedException {
+        Routing routing = routing(unreachable(), database("replica"));
+
+        try (ReplicaRoutingDataSource replicas = routing.replicas) {
+            replicas.scheduleHealthChecks(Duration.ofMillis(20));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (replicas.healthyCount() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(replicas.healthyCount()).isEqualTo(1);
+        }
+    }
+
+    private Routing routing(HikariDataSource... replicas) {
+        HikariDataSource primary = database("primary");
+        ReplicaRoutingDataSource replicaDataSource =
+                new ReplicaRoutingDataSource(primary, List.of(replicas), Duration.ofSeconds(10), meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return new Routing(replicaDataSource, new JdbcTemplate(dataSource),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource pool = pool("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return pool;
+    }
+
+    private HikariDataSource unreachable() {
+        return pool("jdbc:h2:file:./target/missing-" + UUID.randomUUID() + "/db;IFEXISTS=TRUE");
+    }
+
+    private HikariDataSource pool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(250);
+        pool.setInitializationFailTimeout(-1);
+        pools.add(pool);
+        return pool;
+    }
+
+    private record Routing(ReplicaRoutingDataSource replicas, JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate) {
+        String read(boolean readOnly) {
+            transactionTemplate.setReadOnly(readOnly);
+            return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ng.darum.employee.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+
+    @Test
+    void testConcurrentCallers_ShareOneLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.load("department", 1L, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "Finance";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.load("department", 1L, () -> {
+            loads.incrementAndGet();
+            return "duplicate";
+        }));
+        // Let the follower reach the in-flight call before the leader finishes
+        while (meterRegistry.get("singleflight.requests").tag("outcome", "coalesced").counter().count() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Finance");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("Finance");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("singleflight.coalescing.ratio").tag("name", "department").gauge().value())
+                .isEqualTo(0.5);
+    }
+
+    @Test
+    void testSequentialCalls_LoadEachTime() {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.load("department", 1L, loads::incrementAndGet);
+        coalescer.load("department", 1L, loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testFailure_IsRethrownAndNotKept() {
+        assertThatThrownBy(() -> coalescer.load("department", 1L, () -> {
+            throw new RuntimeException("Department not found");
+        })).hasMessage("Department not found");
+
+        assertThat(coalescer.load("department", 1L, () -> "Finance")).isEqualTo("Finance");
+    }
+
+    @Test
+    void testError_IsSharedWithFollowersAndNotKept() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.load("department", 1L, () -> {
+            started.countDown();
+            await(release);
+            throw new StackOverflowError("deep");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.load("department", 1L, () -> "duplicate"));
+        while (meterRegistry.get("singleflight.requests").tag("outcome", "coalesced").counter().count() == 0) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(coalescer.load("department", 1L, () -> "Finance")).isEqualTo("Finance");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ng.darum.employee.component;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TrustedClaimsFilterTest {
+
+    private static final String SECRET = "internal-secret-for-tests-only-0123456789";
+
+    private final TrustedClaimsFilter filter = new TrustedClaimsFilter(SECRET);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidHeader_AuthenticatesWithRoleAndEmployeeId() throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(header("jane@company.com\nMANAGER\n42\n" + inSeconds(30), SECRET)), response,
+                (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seen.get().getName()).isEqualTo("jane@company.com");
+        assertThat(seen.get().getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_MANAGER");
+        assertThat(seen.get().getDetails()).isEqualTo(42L);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void testHeaderProducedByGateway_IsAccepted() throws Exception {
+        // Produced by the gateway's TrustedClaimsFilter under SECRET (see its TrustedClaimsFilterTests); expires in 2100
+        String gatewayContext =
+                "amFuZUBjb21wYW55LmNvbQpNQU5BR0VSCjQyCjQxMDI0NDQ4MDA.o799x6TZfPMBTsn3wUPapVRhkty4lTpgDRFOss4yeXo";
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(gatewayContext), response,
+                (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seen.get().getName()).isEqualTo("jane@company.com");
+        assertThat(seen.get().getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_MANAGER");
+        assertThat(seen.get().getDetails()).isEqualTo(42L);
+    }
+
+    @Test
+    void testHeaderSignedWithOtherSecret_IsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(header("jane@company.com\nADMIN\n42\n" + inSeconds(30), "forged")), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void testExpiredHeader_IsRejected() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(header("jane@company.com\nMANAGER\n42\n" + inSeconds(-1), SECRET)), response,
+                new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void testNoHeader_FallsThroughUnauthenticated() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/employees/1"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static MockHttpServletRequest request(String context) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/1");
+        request.addHeader(TrustedClaimsFilter.HEADER, context);
+        return request;
+    }
+
+    private static long inSeconds(long seconds) {
+        return System.currentTimeMillis() / 1000 + seconds;
+    }
+
+    private static String header(String payload, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(bytes) + "." + encoder.encodeToString(mac.doFinal(bytes));
+    }
+}
@@ -1,7 +1,9 @@
 package ng.darum.employee.controller;
 
+import ng.darum.employee.component.JwtKeySet;
 import ng.darum.employee.config.SecurityConfig;
 import ng.darum.employee.controllers.DepartmentController;
+import ng.darum.employee.dto.DepartmentResponse;
 import ng.darum.employee.entity.Department;
 import ng.darum.employee.service.DepartmentService;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,8 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -27,9 +31,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Uses @WebMvcTest + @MockitoBean for isolated testing of the controller layer.
  */
 @WebMvcTest(DepartmentController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, JwtKeySet.class})
 class DepartmentControllerTests {
 
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 1, 9, 30, 0, 123_000_000);
+    private static final String ETAG = "W/\"1-" + UPDATED_AT.toEpochSecond(ZoneOffset.UTC) + ".123000000\"";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -113,17 +120,58 @@ class DepartmentControllerTests {
         verify(departmentService, times(1)).findDepartmentById(1L);
     }
 
+    @Test
+    @WithMockUser
+    void findDepartment_ShouldReturnWeakETag() throws Exception {
+        Department dept = new Department();
+        dept.setId(1L);
+        dept.setName("Engineering");
+        dept.setUpdatedAt(UPDATED_AT);
+
+        when(departmentService.findDepartmentById(1L)).thenReturn(dept);
+
+        mockMvc.perform(get("/departments/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG));
+    }
+
+    @Test
+    @WithMockUser
+    void findDepartment_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        Department dept = new Department();
+        dept.setId(1L);
+        dept.setName("Engineering");
+        dept.setUpdatedAt(UPDATED_AT);
+
+        when(departmentService.findDepartmentById(1L)).thenReturn(dept);
+
+        mockMvc.perform(get("/departments/1").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    void findDepartment_WithStaleETag_ShouldReturnBody() throws Exception {
+        Department dept = new Department();
+        dept.setId(1L);
+        dept.setName("Engineering");
+        dept.setUpdatedAt(UPDATED_AT);
+
+        when(departmentService.findDepartmentById(1L)).thenReturn(dept);
+
+        mockMvc.perform(get("/departments/1").header("If-None-Match", "W/\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Engineering"));
+    }
+
     // ---------- GET ALL ----------
     @Test
     @WithMockUser(roles = "ADMIN")
     void getAllDepartments_ShouldReturnList() throws Exception {
-        Department dept1 = new Department();
-        dept1.setId(1L);
-        dept1.setName("Engineering");
-
-        Department dept2 = new Department();
-        dept2.setId(2L);
-        dept2.setName("HR");
+        DepartmentResponse dept1 = new DepartmentResponse(1L, "Engineering", "engineering", null, null, null);
+        DepartmentResponse dept2 = new DepartmentResponse(2L, "HR", "hr", null, null, null);
 
         when(departmentService.getAllDepartments()).thenReturn(List.of(dept1, dept2));
 
@@ -2,11 +2,17 @@ package ng.darum.employee.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
-import ng.darum.employee.component.JwtUtil;
+import ng.darum.employee.component.AuthenticatedUser;
+import ng.darum.employee.component.JwtKeySet;
 import ng.darum.employee.config.SecurityConfig;
 import ng.darum.employee.controllers.EmployeeController;
+import ng.darum.employee.dto.BatchItemResult;
+import ng.darum.employee.dto.CursorPage;
 import ng.darum.employee.dto.EmployeeRequest;
+import ng.darum.employee.dto.EmployeeResponse;
+import ng.darum.employee.dto.RequesterContext;
 import ng.darum.employee.entity.Employee;
+import ng.darum.employee.enums.ExportFormat;
 import ng.darum.employee.enums.Role;
 import ng.darum.employee.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +25,10 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.util.List;
 
@@ -34,7 +44,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Uses Mockito and MockMvc for isolated controller testing.
  */
 @WebMvcTest(EmployeeController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, JwtKeySet.class, AuthenticatedUser.class})
 class EmployeeControllerTest {
 
     @Autowired
@@ -45,8 +55,6 @@ class EmployeeControllerTest {
 
     @Autowired
     private ObjectMapper objectMapper;
-    @MockitoBean
-    private JwtUtil jwtUtil;
 
     private Employee mockEmployee;
     private EmployeeRequest mockRequest;
@@ -102,6 +110,26 @@ class EmployeeControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    // ---------------------------
+    // CREATE EMPLOYEES (BATCH)
+    // ---------------------------
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldCreateEmployeesInBatch() throws Exception {
+        Mockito.when(employeeService.createEmployees(any()))
+                .thenReturn(List.of(
+                        BatchItemResult.builder().index(0).status(BatchItemResult.CREATED).id(1L).build(),
+                        BatchItemResult.builder().index(1).status(BatchItemResult.REJECTED).message("Email is required").build()));
+
+        mockMvc.perform(post("/employees/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(mockRequest, new EmployeeRequest()))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.message").value("Employee batch processed: 1 created, 1 rejected"))
+                .andExpect(jsonPath("$.data[1].status").value("REJECTED"));
+    }
+
     // ---------------------------
     // UPDATE EMPLOYEE
     // ---------------------------
@@ -154,10 +182,8 @@ class EmployeeControllerTest {
         target.setEmail("user@example.com");
         target.setDepartmentId(3L);
 
-        when(jwtUtil.extractEmail(any(HttpServletRequest.class))).thenReturn("admin@example.com");
-        when(jwtUtil.extractRole(any(HttpServletRequest.class))).thenReturn("ADMIN");
-        when(employeeService.findEmployeeByEmail("admin@example.com")).thenReturn(admin);
-        when(employeeService.findEmployeeById(5L)).thenReturn(target);
+        when(employeeService.findRequester("admin@example.com")).thenReturn(new RequesterContext(admin.getId(), admin.getDepartmentId()));
+        when(employeeService.findEmployeeById(5L)).thenReturn(response(target));
 
         mockMvc.perform(get("/employees/5").requestAttr("javax.servlet.request", mockRequest))
                 .andExpect(status().isOk())
@@ -180,10 +206,8 @@ class EmployeeControllerTest {
         target.setEmail("staff@example.com");
         target.setDepartmentId(10L); // same department
 
-        when(jwtUtil.extractEmail(any(HttpServletRequest.class))).thenReturn("manager@example.com");
-        when(jwtUtil.extractRole(any(HttpServletRequest.class))).thenReturn("MANAGER");
-        when(employeeService.findEmployeeByEmail("manager@example.com")).thenReturn(manager);
-        when(employeeService.findEmployeeById(3L)).thenReturn(target);
+        when(employeeService.findRequester("manager@example.com")).thenReturn(new RequesterContext(manager.getId(), manager.getDepartmentId()));
+        when(employeeService.findEmployeeById(3L)).thenReturn(response(target));
 
         mockMvc.perform(get("/employees/3").requestAttr("javax.servlet.request", mockRequest))
                 .andExpect(status().isOk())
@@ -206,10 +230,8 @@ class EmployeeControllerTest {
         target.setEmail("other@example.com");
         target.setDepartmentId(20L); // different department
 
-        when(jwtUtil.extractEmail(any(HttpServletRequest.class))).thenReturn("manager@example.com");
-        when(jwtUtil.extractRole(any(HttpServletRequest.class))).thenReturn("MANAGER");
-        when(employeeService.findEmployeeByEmail("manager@example.com")).thenReturn(manager);
-        when(employeeService.findEmployeeById(4L)).thenReturn(target);
+        when(employeeService.findRequester("manager@example.com")).thenReturn(new RequesterContext(manager.getId(), manager.getDepartmentId()));
+        when(employeeService.findEmployeeById(4L)).thenReturn(response(target));
 
         mockMvc.perform(get("/employees/4").requestAttr("javax.servlet.request", mockRequest))
                 .andExpect(status().isForbidden());
@@ -226,10 +248,8 @@ class EmployeeControllerTest {
         employee.setEmail("employee@example.com");
         employee.setDepartmentId(15L);
 
-        when(jwtUtil.extractEmail(any(HttpServletRequest.class))).thenReturn("employee@example.com");
-        when(jwtUtil.extractRole(any(HttpServletRequest.class))).thenReturn("EMPLOYEE");
-        when(employeeService.findEmployeeByEmail("employee@example.com")).thenReturn(employee);
-        when(employeeService.findEmployeeById(5L)).thenReturn(employee);
+        when(employeeService.findRequester("employee@example.com")).thenReturn(new RequesterContext(employee.getId(), employee.getDepartmentId()));
+        when(employeeService.findEmployeeById(5L)).thenReturn(response(employee));
 
         mockMvc.perform(get("/employees/5").requestAttr("javax.servlet.request", mockRequest))
                 .andExpect(status().isOk())
@@ -252,10 +272,8 @@ class EmployeeControllerTest {
         target.setEmail("other@example.com");
         target.setDepartmentId(15L);
 
-        when(jwtUtil.extractEmail(any(HttpServletRequest.class))).thenReturn("employee@example.com");
-        when(jwtUtil.extractRole(any(HttpServletRequest.class))).thenReturn("EMPLOYEE");
-        when(employeeService.findEmployeeByEmail("employee@example.com")).thenReturn(employee);
-        when(employeeService.findEmployeeById(6L)).thenReturn(target);
+        when(employeeService.findRequester("employee@example.com")).thenReturn(new RequesterContext(employee.getId(), employee.getDepartmentId()));
+        when(employeeService.findEmployeeById(6L)).thenReturn(response(target));
 
         mockMvc.perform(get("/employees/6").requestAttr("javax.servlet.request", mockRequest))
                 .andExpect(status().isForbidden());
@@ -268,15 +286,91 @@ class EmployeeControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void shouldGetAllEmployeesSuccessfully() throws Exception {
-        Mockito.when(employeeService.getAllEmployees())
-                .thenReturn(List.of(mockEmployee));
+        Mockito.when(employeeService.getEmployeesPage(null, null))
+                .thenReturn(new CursorPage<>(List.of(response(mockEmployee)), "bmV4dA"));
 
         mockMvc.perform(get("/employees"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Employees retrieved successfully"))
+                .andExpect(jsonPath("$.data[0].firstName").value("John"))
+                .andExpect(jsonPath("$.nextCursor").value("bmV4dA"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldPassCursorAndSizeToService() throws Exception {
+        Mockito.when(employeeService.getEmployeesPage("abc", 10))
+                .thenReturn(new CursorPage<>(List.of(response(mockEmployee)), null));
+
+        mockMvc.perform(get("/employees").param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].employeeId").value("EMP001"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    // ---------------------------
+    // EXPORT EMPLOYEES
+    // ---------------------------
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStreamEmployeesAsCsv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(employeeService).exportEmployees(eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/employees/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldRejectUnknownExportFormat() throws Exception {
+        mockMvc.perform(get("/employees/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(employeeService, never()).exportEmployees(any(), any());
+    }
+
+    // ---------------------------
+    // SEARCH EMPLOYEES
+    // ---------------------------
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldSearchEmployees() throws Exception {
+        when(employeeService.searchEmployees("jo", 1, 20)).thenReturn(List.of(response(mockEmployee)));
+
+        mockMvc.perform(get("/employees/search").param("q", "jo").param("page", "1").param("size", "20"))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data[0].firstName").value("John"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldRejectBlankSearch() throws Exception {
+        when(employeeService.searchEmployees(eq(" "), any(), any()))
+                .thenThrow(new IllegalArgumentException("Search query must not be blank"));
+
+        mockMvc.perform(get("/employees/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void shouldForbidSearchForNonAdmin() throws Exception {
+        mockMvc.perform(get("/employees/search").param("q", "jo"))
+                .andExpect(status().isForbidden());
+
+        verify(employeeService, never()).searchEmployees(any(), any(), any());
+    }
+
     // ---------------------------
     // GET DEPARTMENT EMPLOYEES (Access control logic)
     // ---------------------------
@@ -291,12 +385,10 @@ class EmployeeControllerTest {
         admin.setEmail("admin@example.com");
         admin.setDepartmentId(1L);
 
-        when(jwtUtil.extractEmail(any(HttpServletRequest.class))).thenReturn("admin@example.com");
-        when(jwtUtil.extractRole(any(HttpServletRequest.class))).thenReturn("ADMIN");
-        when(employeeService.findEmployeeByEmail("admin@example.com")).thenReturn(admin);
+        when(employeeService.findRequester("admin@example.com")).thenReturn(new RequesterContext(admin.getId(), admin.getDepartmentId()));
 
         Mockito.when(employeeService.getDepartmentEmployees(20L))
-                .thenReturn(List.of(mockEmployee));
+                .thenReturn(List.of(response(mockEmployee)));
 
         mockMvc.perform(get("/employees/department/20")
                         .requestAttr("javax.servlet.request", mockRequest))
@@ -317,12 +409,10 @@ class EmployeeControllerTest {
         manager.setEmail("manager@example.com");
         manager.setDepartmentId(10L);
 
-        when(jwtUtil.extractEmail(any(HttpServletRequest.class))).thenReturn("manager@example.com");
-        when(jwtUtil.extractRole(any(HttpServletRequest.class))).thenReturn("MANAGER");
-        when(employeeService.findEmployeeByEmail("manager@example.com")).thenReturn(manager);
+        when(employeeService.findRequester("manager@example.com")).thenReturn(new RequesterContext(manager.getId(), manager.getDepartmentId()));
 
         Mockito.when(employeeService.getDepartmentEmployees(10L))
-                .thenReturn(List.of(mockEmployee));
+                .thenReturn(List.of(response(mockEmployee)));
 
         mockMvc.perform(get("/employees/department/10")
                         .requestAttr("javax.servlet.request", mockRequest))
@@ -342,9 +432,7 @@ class EmployeeControllerTest {
         manager.setEmail("manager2@example.com");
         manager.setDepartmentId(5L); // department mismatch
 
-        when(jwtUtil.extractEmail(any(HttpServletRequest.class))).thenReturn("manager2@example.com");
-        when(jwtUtil.extractRole(any(HttpServletRequest.class))).thenReturn("MANAGER");
-        when(employeeService.findEmployeeByEmail("manager2@example.com")).thenReturn(manager);
+        when(employeeService.findRequester("manager2@example.com")).thenReturn(new RequesterContext(manager.getId(), manager.getDepartmentId()));
 
         mockMvc.perform(get("/employees/department/10")
                         .requestAttr("javax.servlet.request", mockRequest))
@@ -352,4 +440,10 @@ class EmployeeControllerTest {
     }
 
 
+
+    private static EmployeeResponse response(Employee employee) {
+        return new EmployeeResponse(employee.getId(), employee.getUserId(), employee.getEmail(),
+                employee.getEmployeeId(), employee.getFirstName(), employee.getLastName(), employee.getStatus(),
+                employee.getDepartmentId(), employee.getCreatedAt(), employee.getUpdatedAt());
+    }
 }
@@ -0,0 +1,117 @@
+package ng.darum.employee.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import ng.darum.employee.component.DepartmentCache;
+import ng.darum.employee.entity.Department;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with the second-level and query cache enabled as in employee-service.properties.
+ * Not transactional: cache entries are only written once each repository call commits.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DepartmentCacheTest {
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DepartmentCache departmentCache;
+    private Statistics statistics;
+    private Department engineering;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        departmentCache = new DepartmentCache(entityManagerFactory, meterRegistry);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        engineering = departmentRepository.save(Department.builder().name("Engineering").build());
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void testFindById_ShouldBeServedFromEntityRegion() {
+        // Act
+        departmentRepository.findById(engineering.getId());
+        departmentRepository.findById(engineering.getId());
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(departmentCache.hitRatio(DepartmentCache.ENTITY_REGION)).isEqualTo(0.5);
+        assertThat(meterRegistry.get("hibernate.cache.region.requests")
+                .tag("region", DepartmentCache.ENTITY_REGION).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testNameLookups_ShouldBeServedFromQueryRegion() {
+        // Act
+        assertThat(departmentRepository.existsByName("Engineering")).isTrue();
+        assertThat(departmentRepository.existsByName("Engineering")).isTrue();
+        assertThat(departmentRepository.findByName("Engineering")).isPresent();
+        assertThat(departmentRepository.findByName("Engineering")).isPresent();
+
+        // Assert
+        assertThat(statistics.getCacheRegionStatistics(DepartmentCache.NAME_QUERY_REGION).getHitCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("hibernate.cache.region.hit.ratio")
+                .tag("region", DepartmentCache.NAME_QUERY_REGION).gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void testUpdate_ShouldRefreshCachedNameLookups() {
+        // Arrange
+        assertThat(departmentRepository.existsByName("Platform")).isFalse();
+
+        // Act
+        Department renamed = departmentRepository.findCurrentById(engineering.getId()).orElseThrow();
+        renamed.setName("Platform");
+        departmentRepository.save(renamed);
+
+        // Assert
+        assertThat(departmentRepository.existsByName("Platform")).isTrue();
+        assertThat(departmentRepository.findById(engineering.getId())).get()
+                .extracting(Department::getName).isEqualTo("Platform");
+    }
+
+    @Test
+    void testEvict_ShouldDropEntityAndNameLookups() {
+        // Arrange
+        departmentRepository.findById(engineering.getId());
+        departmentRepository.existsByName("Engineering");
+
+        // Act
+        departmentCache.evict(engineering.getId());
+
+        // Assert
+        assertThat(entityManagerFactory.getCache().contains(Department.class, engineering.getId())).isFalse();
+        departmentRepository.existsByName("Engineering");
+        assertThat(statistics.getCacheRegionStatistics(DepartmentCache.NAME_QUERY_REGION).getHitCount()).isZero();
+    }
+}
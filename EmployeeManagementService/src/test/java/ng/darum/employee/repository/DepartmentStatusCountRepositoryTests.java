@@ -0,0 +1,86 @@
+package ng.darum.employee.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs increment against the migrated H2 schema.
+ * Not transactional: every increment commits on its own, as concurrent employee changes would.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DepartmentStatusCountRepositoryTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private DepartmentStatusCountRepository statusCountRepository;
+
+    @AfterEach
+    void tearDown() {
+        statusCountRepository.deleteAll();
+    }
+
+    @Test
+    void testIncrement_ShouldCreateTheRowThenAddToIt() {
+        // Act
+        statusCountRepository.increment(1L, "ACTIVE", 2);
+        statusCountRepository.increment(1L, "ACTIVE", 3);
+        statusCountRepository.increment(1L, "ACTIVE", -1);
+        statusCountRepository.increment(1L, "SUSPENDED", 1);
+
+        // Assert
+        assertThat(headcounts(1L)).containsExactly("ACTIVE/4", "SUSPENDED/1");
+    }
+
+    @Test
+    void testConcurrentFirstIncrements_ShouldBothCount() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (long departmentId = 1; departmentId <= ROUNDS; departmentId++) {
+                long department = departmentId;
+                CountDownLatch start = new CountDownLatch(1);
+
+                // Act
+                List<Future<?>> callers = new ArrayList<>();
+                for (int i = 0; i < 2; i++) {
+                    callers.add(executor.submit(() -> {
+                        start.await();
+                        statusCountRepository.increment(department, "ACTIVE", 1);
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> caller : callers) {
+                    caller.get();
+                }
+
+                // Assert
+                assertThat(headcounts(department)).containsExactly("ACTIVE/2");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> headcounts(Long departmentId) {
+        return statusCountRepository.findByDepartmentId(departmentId).stream()
+                .map(count -> count.getStatus() + "/" + count.getHeadcount())
+                .sorted()
+                .toList();
+    }
+}
@@ -1,10 +1,16 @@
 package ng.darum.employee.repository;
 
+import jakarta.persistence.EntityManager;
+import ng.darum.employee.dto.EmployeeResponse;
 import ng.darum.employee.entity.Employee;
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -15,8 +21,11 @@ class EmployeeRepositoryTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
-    void testFindByDepartmentId_ShouldReturnEmployeesInSameDepartment() {
+    void testFindResponsesByDepartmentId_ShouldReturnEmployeesInSameDepartment() {
         // Arrange
         Employee emp1 = Employee.builder()
                 .firstName("Alice")
@@ -45,12 +54,89 @@ class EmployeeRepositoryTest {
         employeeRepository.saveAll(List.of(emp1, emp2, emp3));
 
         // Act
-        List<Employee> departmentEmployees = employeeRepository.findByDepartmentId(100L);
+        List<EmployeeResponse> departmentEmployees = employeeRepository.findResponsesByDepartmentId(100L);
 
         // Assert
         assertThat(departmentEmployees).hasSize(2);
         assertThat(departmentEmployees)
-                .extracting(Employee::getEmployeeId)
+                .extracting(EmployeeResponse::employeeId)
                 .containsExactlyInAnyOrder("EMP001", "EMP002");
     }
+
+    @Test
+    void testFindResponsesAfter_ShouldReturnNextRowsInIdOrder() {
+        // Arrange
+        List<Employee> saved = employeeRepository.saveAll(List.of(
+                Employee.builder().employeeId("EMP010").build(),
+                Employee.builder().employeeId("EMP011").build(),
+                Employee.builder().employeeId("EMP012").build()));
+        Long firstId = saved.get(0).getId();
+
+        // Act
+        List<EmployeeResponse> page = employeeRepository.findResponsesAfter(firstId, Limit.of(1));
+
+        // Assert
+        assertThat(page)
+                .extracting(EmployeeResponse::employeeId)
+                .containsExactly("EMP011");
+    }
+
+    @Test
+    void testFindResponseById_ShouldCopyEveryColumn() {
+        // Arrange
+        Employee saved = employeeRepository.saveAndFlush(Employee.builder()
+                .userId(7L)
+                .email("alice@company.com")
+                .employeeId("EMP020")
+                .firstName("Alice")
+                .lastName("Smith")
+                .status("ACTIVE")
+                .departmentId(100L)
+                .build());
+
+        // Act
+        EmployeeResponse response = employeeRepository.findResponseById(saved.getId()).orElseThrow();
+
+        // Assert
+        assertThat(response)
+                .usingRecursiveComparison()
+                .ignoringFields("createdAt", "updatedAt")
+                .isEqualTo(new EmployeeResponse(saved.getId(), 7L, "alice@company.com", "EMP020",
+                        "Alice", "Smith", "ACTIVE", 100L, null, null));
+        assertThat(response.createdAt()).isNotNull();
+    }
+
+    @Test
+    void testFindAllResponses_ShouldLeaveNothingInPersistenceContext() {
+        // Arrange
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            employees.add(Employee.builder().employeeId("EMP" + i).departmentId(100L).build());
+        }
+        employeeRepository.saveAllAndFlush(employees);
+        entityManager.clear();
+        SessionStatistics session = entityManager.unwrap(Session.class).getStatistics();
+
+        // Act
+        List<EmployeeResponse> responses = employeeRepository.findAllResponses();
+        int afterProjection = session.getEntityCount();
+        employeeRepository.findAll();
+
+        // Assert
+        assertThat(responses).hasSize(10_000);
+        assertThat(afterProjection).isZero();
+        assertThat(session.getEntityCount()).isEqualTo(10_000);
+    }
+
+    @Test
+    void testFindExistingEmails_ShouldReturnOnlyStoredEmails() {
+        // Arrange
+        employeeRepository.save(Employee.builder().email("known@company.com").build());
+
+        // Act
+        List<String> existing = employeeRepository.findExistingEmails(List.of("known@company.com", "new@company.com"));
+
+        // Assert
+        assertThat(existing).containsExactly("known@company.com");
+    }
 }
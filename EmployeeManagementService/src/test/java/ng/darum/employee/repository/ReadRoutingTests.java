@@ -0,0 +1,116 @@
+package ng.darum.employee.repository;
+
+import ng.darum.employee.entity.Department;
+import ng.darum.employee.entity.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wires the lazy proxy from ReadReplicaConfig over one H2 database whose
+ * read-only side counts the connections it hands out, so a repository call
+ * outside any transaction shows whether it would reach a replica.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReadRoutingTest.RoutingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadRoutingTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CountingDataSource replica;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employeeRepository.save(Employee.builder().email("john@company.com").departmentId(10L).build());
+        replica.connections.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void testDeclaredQueries_ShouldUseReplica() {
+        assertThat(employeeRepository.findResponseById(employee.getId())).isPresent();
+        assertThat(employeeRepository.findRequesterByEmail("john@company.com")).isPresent();
+        assertThat(employeeRepository.findResponsesByDepartmentId(10L)).hasSize(1);
+        assertThat(departmentRepository.findAllResponses()).isEmpty();
+
+        assertThat(replica.connections).hasValue(4);
+    }
+
+    @Test
+    void testWrites_ShouldUsePrimary() {
+        departmentRepository.save(Department.builder().name("Engineering").build());
+
+        assertThat(replica.connections).hasValue(0);
+    }
+
+    @TestConfiguration
+    static class RoutingConfig {
+
+        @Bean
+        DataSource database() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        CountingDataSource replica(DataSource database) {
+            return new CountingDataSource(database);
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(DataSource database, CountingDataSource replica) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(database);
+            dataSource.setReadOnlyDataSource(replica);
+            return dataSource;
+        }
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ng.darum.employee.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the Flyway migrations give every repository finder on the
+ * request path an index to use. Each finder is called, the SQL Hibernate
+ * actually sends is captured, and its plan, with the finder's arguments bound,
+ * must name the expected index rather than a table scan.
+ */
+@DataJpaTest
+class SchemaIndexTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private DepartmentStatusCountRepository departmentStatusCountRepository;
+
+    @Autowired
+    private CapturedStatements capturedStatements;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testEmailFinders_ShouldUseEmailIndex() {
+        // Derived exists queries are limited to one row
+        assertUsesIndex(() -> employeeRepository.existsByEmail("a@company.com"),
+                "IDX_EMPLOYEES_EMAIL", "a@company.com", 1);
+        assertUsesIndex(() -> employeeRepository.findByEmail("a@company.com"),
+                "IDX_EMPLOYEES_EMAIL", "a@company.com");
+        assertUsesIndex(() -> employeeRepository.findRequesterByEmail("a@company.com"),
+                "IDX_EMPLOYEES_EMAIL", "a@company.com");
+        assertUsesIndex(() -> employeeRepository.findExistingEmails(List.of("a@company.com", "b@company.com")),
+                "IDX_EMPLOYEES_EMAIL", "a@company.com", "b@company.com");
+    }
+
+    @Test
+    void testDepartmentFinders_ShouldUseDepartmentIndex() {
+        assertUsesIndex(() -> employeeRepository.findResponsesByDepartmentId(1L),
+                "IDX_EMPLOYEES_DEPARTMENT_CREATED", 1L);
+        assertUsesIndex(() -> employeeRepository.findRecentHires(1L, Limit.of(5)),
+                "IDX_EMPLOYEES_DEPARTMENT_CREATED", 1L, 5);
+    }
+
+    @Test
+    void testDepartmentNameFinders_ShouldUseNameIndex() {
+        assertUsesIndex(() -> departmentRepository.existsByName("Engineering"),
+                "IDX_DEPARTMENTS_NAME", "Engineering", 1);
+        assertUsesIndex(() -> departmentRepository.findByName("Research"),
+                "IDX_DEPARTMENTS_NAME", "Research");
+    }
+
+    @Test
+    void testStatusCountFinder_ShouldUsePrimaryKey() {
+        assertUsesIndex(() -> departmentStatusCountRepository.findByDepartmentId(1L),
+                "PRIMARY_KEY", 1L);
+    }
+
+    // Runs the finder, then explains the one select it sent with the given arguments bound in order
+    private void assertUsesIndex(Runnable finder, String index, Object... arguments) {
+        capturedStatements.clear();
+        finder.run();
+        List<String> statements = capturedStatements.statements();
+        assertThat(statements).as("statements sent by the finder").hasSize(1);
+        String sql = statements.get(0);
+        assertThat(sql.chars().filter(c -> c == '?').count()).as("parameters of %s", sql).isEqualTo(arguments.length);
+
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, arguments);
+        assertThat(plan)
+                .as("plan for %s", sql)
+                .contains(index)
+                .doesNotContain("tableScan");
+    }
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        CapturedStatements capturedStatements() {
+            return new CapturedStatements();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(CapturedStatements capturedStatements) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturedStatements);
+        }
+    }
+
+    // Sees every statement Hibernate prepares and passes it on unchanged
+    static class CapturedStatements implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        synchronized List<String> statements() {
+            return List.copyOf(statements);
+        }
+
+        synchronized void clear() {
+            statements.clear();
+        }
+    }
+}
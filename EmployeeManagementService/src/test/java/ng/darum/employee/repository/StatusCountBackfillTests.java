@@ -0,0 +1,69 @@
+package ng.darum.employee.repository;
+
+import ng.darum.employee.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the V5 backfill migration again over employees saved by the test,
+ * as it runs once against a database upgraded with employees in it.
+ */
+@DataJpaTest
+class StatusCountBackfillTest {
+
+    private static final ClassPathResource BACKFILL =
+            new ClassPathResource("db/migration/V5__backfill_department_status_counts.sql");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testBackfill_ShouldCountEmployeesByDepartmentAndStatus() {
+        // Arrange
+        employeeRepository.saveAllAndFlush(List.of(
+                Employee.builder().departmentId(1L).status("ACTIVE").build(),
+                Employee.builder().departmentId(1L).status("ACTIVE").build(),
+                Employee.builder().departmentId(1L).build(),
+                Employee.builder().departmentId(2L).status("SUSPENDED").build(),
+                Employee.builder().status("ACTIVE").build()));
+
+        // Act
+        new ResourceDatabasePopulator(BACKFILL).execute(dataSource);
+
+        // Assert
+        assertThat(counts()).containsExactly("1/ACTIVE/2", "1/UNKNOWN/1", "2/SUSPENDED/1");
+    }
+
+    @Test
+    void testBackfill_WhenCountsPresent_ShouldLeaveThemAlone() {
+        // Arrange
+        employeeRepository.saveAndFlush(Employee.builder().departmentId(1L).status("ACTIVE").build());
+        jdbcTemplate.update("insert into department_status_counts (department_id, status, headcount) values (1, 'ACTIVE', 1)");
+
+        // Act
+        new ResourceDatabasePopulator(BACKFILL).execute(dataSource);
+
+        // Assert
+        assertThat(counts()).containsExactly("1/ACTIVE/1");
+    }
+
+    private List<String> counts() {
+        return jdbcTemplate.queryForList("select department_id || '/' || status || '/' || headcount "
+                + "from department_status_counts order by department_id, status", String.class);
+    }
+}
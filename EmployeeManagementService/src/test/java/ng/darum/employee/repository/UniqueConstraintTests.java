@@ -0,0 +1,112 @@
+package ng.darum.employee.repository;
+
+import ng.darum.employee.entity.Department;
+import ng.darum.employee.entity.Employee;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Creates race each other on the unique indexes from the Flyway migrations.
+ * Not transactional: every save commits on its own, as concurrent requests would.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UniqueConstraintTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+    }
+
+    @Test
+    void testCreateDepartment_ShouldBeOneInsert() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        departmentRepository.saveAndFlush(Department.builder().name("Finance").build());
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentDepartmentCreates_ShouldKeepOneRow() throws Exception {
+        // Act
+        List<Throwable> failures = race(() -> departmentRepository.saveAndFlush(Department.builder().name("Finance").build()));
+
+        // Assert
+        assertThat(departmentRepository.count()).isEqualTo(1);
+        assertThat(failures).hasSize(THREADS - 1).allMatch(DataIntegrityViolationException.class::isInstance);
+    }
+
+    @Test
+    void testConcurrentEmployeeCreates_ShouldKeepOneRowPerEmail() throws Exception {
+        // Act
+        List<Throwable> failures = race(() -> employeeRepository.saveAndFlush(
+                Employee.builder().firstName("Ada").email("ada@company.com").build()));
+
+        // Assert
+        assertThat(employeeRepository.count()).isEqualTo(1);
+        assertThat(failures).hasSize(THREADS - 1).allMatch(DataIntegrityViolationException.class::isInstance);
+    }
+
+    // Runs the create on every thread at once and returns the failures
+    private static List<Throwable> race(Callable<?> create) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return create.call();
+                }));
+            }
+            start.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
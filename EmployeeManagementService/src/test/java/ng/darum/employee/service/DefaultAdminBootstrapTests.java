@@ -0,0 +1,142 @@
+package ng.darum.employee.service;
+
+import ng.darum.employee.component.ReadYourWrites;
+import ng.darum.employee.config.DefaultAdminConfig;
+import ng.darum.employee.dto.EmployeeRequest;
+import ng.darum.employee.entity.Department;
+import ng.darum.employee.enums.Role;
+import ng.darum.employee.repository.DepartmentRepository;
+import ng.darum.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for DefaultAdminBootstrap
+ * Verifies that the bootstrap is idempotent and tolerates other instances running it at the same time
+ */
+@ExtendWith(MockitoExtension.class)
+class DefaultAdminBootstrapTest {
+
+    @Spy
+    private DefaultAdminConfig defaultAdminConfig = new DefaultAdminConfig();
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), 100);
+
+    @InjectMocks
+    private DefaultAdminBootstrap defaultAdminBootstrap;
+
+    private final Department administration = Department.builder().id(3L).name("Administration").build();
+
+    @BeforeEach
+    void setUp() {
+        defaultAdminConfig.setEmail("admin@company.com");
+        defaultAdminConfig.setFirstName("Default");
+        defaultAdminConfig.setLastName("Admin");
+        defaultAdminConfig.setPassword("secret");
+        defaultAdminConfig.setDepartmentName("Administration");
+    }
+
+    /**
+     * Test bootstrap when the admin already exists
+     * Verifies that nothing is created
+     */
+    @Test
+    void testCreateDefaultAdminUser_WhenAdminExists_ShouldDoNothing() {
+        // Arrange
+        when(employeeRepository.existsByEmail("admin@company.com")).thenReturn(true);
+
+        // Act
+        defaultAdminBootstrap.createDefaultAdminUser();
+
+        // Assert
+        verifyNoInteractions(departmentRepository, employeeService);
+    }
+
+    /**
+     * Test bootstrap on an empty database
+     * Verifies that the department is created and the admin is placed in it
+     */
+    @Test
+    void testCreateDefaultAdminUser_WhenMissing_ShouldCreateDepartmentAndAdmin() {
+        // Arrange
+        when(employeeRepository.existsByEmail("admin@company.com")).thenReturn(false);
+        when(departmentRepository.findByName("Administration")).thenReturn(Optional.empty());
+        when(departmentRepository.saveAndFlush(any(Department.class))).thenReturn(administration);
+
+        // Act
+        defaultAdminBootstrap.createDefaultAdminUser();
+
+        // Assert
+        ArgumentCaptor<EmployeeRequest> request = ArgumentCaptor.forClass(EmployeeRequest.class);
+        verify(employeeService).createEmployee(request.capture());
+        assertEquals("admin@company.com", request.getValue().getEmail());
+        assertEquals(3L, request.getValue().getDepartmentId());
+        assertEquals(Role.ADMIN, request.getValue().getRole());
+    }
+
+    /**
+     * Test bootstrap when another instance creates the department first
+     * Verifies that the department it created is used
+     */
+    @Test
+    void testCreateDefaultAdminUser_WhenDepartmentCreatedConcurrently_ShouldUseExistingDepartment() {
+        // Arrange
+        when(employeeRepository.existsByEmail("admin@company.com")).thenReturn(false);
+        when(departmentRepository.findByName("Administration"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(administration));
+        when(departmentRepository.saveAndFlush(any(Department.class)))
+                .thenThrow(new DataIntegrityViolationException("idx_departments_name"));
+
+        // Act
+        defaultAdminBootstrap.createDefaultAdminUser();
+
+        // Assert
+        ArgumentCaptor<EmployeeRequest> request = ArgumentCaptor.forClass(EmployeeRequest.class);
+        verify(employeeService).createEmployee(request.capture());
+        assertEquals(3L, request.getValue().getDepartmentId());
+        verify(readYourWrites).onPrimary(any());
+    }
+
+    /**
+     * Test bootstrap when another instance creates the admin first
+     * Verifies that the duplicate is not reported as a failure
+     */
+    @Test
+    void testCreateDefaultAdminUser_WhenAdminCreatedConcurrently_ShouldNotThrow() {
+        // Arrange
+        when(employeeRepository.existsByEmail("admin@company.com")).thenReturn(false);
+        when(departmentRepository.findByName("Administration")).thenReturn(Optional.of(administration));
+        when(employeeService.createEmployee(any(EmployeeRequest.class)))
+                .thenThrow(new DuplicateKeyException("Employee already exists with this email"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> defaultAdminBootstrap.createDefaultAdminUser());
+    }
+}
@@ -1,13 +1,21 @@
 package ng.darum.employee.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ng.darum.employee.component.ReadYourWrites;
+import ng.darum.employee.component.RequestCoalescer;
+import ng.darum.employee.dto.DepartmentResponse;
 import ng.darum.employee.entity.Department;
 import ng.darum.employee.repository.DepartmentRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,13 +36,22 @@ class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), 100);
+
     // Inject mocks into the service being tested
     @InjectMocks
     private DepartmentService departmentService;
 
     /**
      * Test createDepartment method when department does not exist
-     * Verifies that department is saved with slug and returned
+     * Verifies that department is saved with slug, returned, and announced so other instances drop cached name lookups
      */
     @Test
     void testCreateDepartment_WhenDepartmentDoesNotExist_ShouldSaveAndReturnDepartment() {
@@ -49,8 +66,7 @@ class DepartmentServiceTest {
         savedDepartment.setSlug("i.c.t");
         savedDepartment.setDescription("Software development department");
 
-        when(departmentRepository.existsByName("Engineering")).thenReturn(false);
-        when(departmentRepository.save(any(Department.class))).thenReturn(savedDepartment);
+        when(departmentRepository.saveAndFlush(any(Department.class))).thenReturn(savedDepartment);
 
         // Act
         Department result = departmentService.createDepartment(inputDepartment);
@@ -62,13 +78,14 @@ class DepartmentServiceTest {
         assertEquals("i.c.t", result.getSlug(), "Department slug should be generated");
         assertEquals("Software development department", result.getDescription(), "Department description should match");
 
-        verify(departmentRepository, times(1)).existsByName("Engineering");
-        verify(departmentRepository, times(1)).save(inputDepartment);
+        verify(departmentRepository, never()).existsByName(anyString());
+        verify(departmentRepository, times(1)).saveAndFlush(inputDepartment);
+        verify(kafkaProducerService).publishDepartmentInvalidated(1L);
     }
 
     /**
      * Test createDepartment method when department already exists
-     * Verifies that RuntimeException is thrown
+     * Verifies that the unique index violation is reported as a duplicate key
      */
     @Test
     void testCreateDepartment_WhenDepartmentAlreadyExists_ShouldThrowException() {
@@ -76,15 +93,38 @@ class DepartmentServiceTest {
         Department inputDepartment = new Department();
         inputDepartment.setName("HR");
 
-        when(departmentRepository.existsByName("HR")).thenReturn(true);
+        when(departmentRepository.saveAndFlush(inputDepartment))
+                .thenThrow(new DataIntegrityViolationException("idx_departments_name"));
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        DuplicateKeyException exception = assertThrows(DuplicateKeyException.class,
                 () -> departmentService.createDepartment(inputDepartment));
 
         assertEquals("Department Already exists", exception.getMessage());
-        verify(departmentRepository, times(1)).existsByName("HR");
-        verify(departmentRepository, never()).save(any(Department.class));
+        verify(departmentRepository, never()).existsByName(anyString());
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    /**
+     * Test createDepartment method when another constraint is violated
+     * Verifies that only the name index is reported as a duplicate and anything else is rethrown unchanged
+     */
+    @Test
+    void testCreateDepartment_WhenOtherConstraintFails_ShouldRethrowUnchanged() {
+        // Arrange
+        Department inputDepartment = new Department();
+        inputDepartment.setName("HR");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "null value in column \"slug\" of relation \"departments\" violates not-null constraint");
+
+        when(departmentRepository.saveAndFlush(inputDepartment)).thenThrow(violation);
+
+        // Act & Assert
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> departmentService.createDepartment(inputDepartment));
+
+        assertSame(violation, exception);
+        verifyNoInteractions(kafkaProducerService);
     }
 
     /**
@@ -113,7 +153,7 @@ class DepartmentServiceTest {
         updatedDepartment.setDescription("New Description");
         updatedDepartment.setSlug("old-name"); // Slug remains same
 
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(existingDepartment));
+        when(departmentRepository.findCurrentById(departmentId)).thenReturn(Optional.of(existingDepartment));
         when(departmentRepository.save(existingDepartment)).thenReturn(updatedDepartment);
 
         // Act
@@ -126,8 +166,9 @@ class DepartmentServiceTest {
         assertEquals("New Description", result.getDescription(), "Department description should be updated");
         assertEquals("old-name", result.getSlug(), "Department slug should remain unchanged");
 
-        verify(departmentRepository, times(1)).findById(departmentId);
+        verify(departmentRepository, times(1)).findCurrentById(departmentId);
         verify(departmentRepository, times(1)).save(existingDepartment);
+        verify(kafkaProducerService, times(1)).publishDepartmentInvalidated(departmentId);
     }
 
     /**
@@ -141,14 +182,14 @@ class DepartmentServiceTest {
         Department updateData = new Department();
         updateData.setName("Non-existent Department");
 
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.empty());
+        when(departmentRepository.findCurrentById(departmentId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> departmentService.updateDepartment(departmentId, updateData));
 
         assertEquals("Department not found", exception.getMessage());
-        verify(departmentRepository, times(1)).findById(departmentId);
+        verify(departmentRepository, times(1)).findCurrentById(departmentId);
         verify(departmentRepository, never()).save(any(Department.class));
     }
 
@@ -177,7 +218,7 @@ class DepartmentServiceTest {
         updatedDepartment.setDescription("Original Description"); // Unchanged
         updatedDepartment.setSlug("original-name"); // Unchanged
 
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(existingDepartment));
+        when(departmentRepository.findCurrentById(departmentId)).thenReturn(Optional.of(existingDepartment));
         when(departmentRepository.save(existingDepartment)).thenReturn(updatedDepartment);
 
         // Act
@@ -189,7 +230,7 @@ class DepartmentServiceTest {
         assertEquals("Original Description", result.getDescription(), "Description should remain unchanged");
         assertEquals("original-name", result.getSlug(), "Slug should remain unchanged");
 
-        verify(departmentRepository, times(1)).findById(departmentId);
+        verify(departmentRepository, times(1)).findCurrentById(departmentId);
         verify(departmentRepository, times(1)).save(existingDepartment);
     }
 
@@ -211,6 +252,7 @@ class DepartmentServiceTest {
         // Assert
         verify(departmentRepository, times(1)).existsById(departmentId);
         verify(departmentRepository, times(1)).deleteById(departmentId);
+        verify(kafkaProducerService, times(1)).publishDepartmentInvalidated(departmentId);
     }
 
     /**
@@ -285,28 +327,23 @@ class DepartmentServiceTest {
     @Test
     void testGetAllDepartments_WhenDepartmentsExist_ShouldReturnDepartmentList() {
         // Arrange
-        Department dept1 = new Department();
-        dept1.setId(1L);
-        dept1.setName("HR");
-
-        Department dept2 = new Department();
-        dept2.setId(2L);
-        dept2.setName("IT");
-
-        List<Department> expectedDepartments = Arrays.asList(dept1, dept2);
+        List<DepartmentResponse> expectedDepartments = Arrays.asList(
+                new DepartmentResponse(1L, "HR", "hr", null, null, null),
+                new DepartmentResponse(2L, "IT", "it", null, null, null));
 
-        when(departmentRepository.findAll()).thenReturn(expectedDepartments);
+        when(departmentRepository.findAllResponses()).thenReturn(expectedDepartments);
 
         // Act
-        List<Department> result = departmentService.getAllDepartments();
+        List<DepartmentResponse> result = departmentService.getAllDepartments();
 
         // Assert
         assertNotNull(result, "Result should not be null");
         assertEquals(2, result.size(), "Should return 2 departments");
-        assertEquals("HR", result.get(0).getName(), "First department name should match");
-        assertEquals("IT", result.get(1).getName(), "Second department name should match");
+        assertEquals("HR", result.get(0).name(), "First department name should match");
+        assertEquals("IT", result.get(1).name(), "Second department name should match");
 
-        verify(departmentRepository, times(1)).findAll();
+        verify(departmentRepository, times(1)).findAllResponses();
+        verify(departmentRepository, never()).findAll();
     }
 
     /**
@@ -316,17 +353,17 @@ class DepartmentServiceTest {
     @Test
     void testGetAllDepartments_WhenNoDepartmentsExist_ShouldReturnEmptyList() {
         // Arrange
-        List<Department> expectedDepartments = List.of();
+        List<DepartmentResponse> expectedDepartments = List.of();
 
-        when(departmentRepository.findAll()).thenReturn(expectedDepartments);
+        when(departmentRepository.findAllResponses()).thenReturn(expectedDepartments);
 
         // Act
-        List<Department> result = departmentService.getAllDepartments();
+        List<DepartmentResponse> result = departmentService.getAllDepartments();
 
         // Assert
         assertNotNull(result, "Result should not be null");
         assertTrue(result.isEmpty(), "Should return empty list");
 
-        verify(departmentRepository, times(1)).findAll();
+        verify(departmentRepository, times(1)).findAllResponses();
     }
 }
\ No newline at end of file
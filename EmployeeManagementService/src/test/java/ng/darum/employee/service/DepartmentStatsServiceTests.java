@@ -0,0 +1,145 @@
+package ng.darum.employee.service;
+
+import ng.darum.employee.dto.DepartmentStats;
+import ng.darum.employee.dto.RecentHire;
+import ng.darum.employee.entity.DepartmentStatusCount;
+import ng.darum.employee.entity.Employee;
+import ng.darum.employee.repository.DepartmentStatusCountRepository;
+import ng.darum.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for DepartmentStatsService
+ * Verifies the count deltas sent to the repository and how statistics are assembled
+ */
+@ExtendWith(MockitoExtension.class)
+class DepartmentStatsServiceTest {
+
+    @Mock
+    private DepartmentStatusCountRepository statusCountRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private DepartmentStatsService departmentStatsService;
+
+    @BeforeEach
+    void setUp() {
+        departmentStatsService = new DepartmentStatsService(statusCountRepository, employeeRepository, 3);
+    }
+
+    /**
+     * Test recordHires with several employees
+     * Verifies that hires are summed per department and status, applied in key order
+     */
+    @Test
+    void testRecordHires_ShouldApplyOneIncrementPerDepartmentAndStatus() {
+        // Arrange
+        List<Employee> hires = List.of(
+                employee(2L, "ACTIVE"),
+                employee(1L, "ACTIVE"),
+                employee(2L, "ACTIVE"),
+                employee(1L, null),
+                employee(null, "ACTIVE"));
+
+        // Act
+        departmentStatsService.recordHires(hires);
+
+        // Assert
+        InOrder inOrder = inOrder(statusCountRepository);
+        inOrder.verify(statusCountRepository).increment(1L, "ACTIVE", 1L);
+        inOrder.verify(statusCountRepository).increment(1L, DepartmentStatsService.UNKNOWN_STATUS, 1L);
+        inOrder.verify(statusCountRepository).increment(2L, "ACTIVE", 2L);
+        verifyNoMoreInteractions(statusCountRepository);
+    }
+
+    /**
+     * Test recordChange when an employee moves department
+     * Verifies that the old count is decremented and the new one incremented
+     */
+    @Test
+    void testRecordChange_WhenDepartmentChanges_ShouldMoveCount() {
+        // Act
+        departmentStatsService.recordChange(3L, "ACTIVE", 1L, "ACTIVE");
+
+        // Assert
+        InOrder inOrder = inOrder(statusCountRepository);
+        inOrder.verify(statusCountRepository).increment(1L, "ACTIVE", 1L);
+        inOrder.verify(statusCountRepository).increment(3L, "ACTIVE", -1L);
+        verifyNoMoreInteractions(statusCountRepository);
+    }
+
+    /**
+     * Test recordChange when neither department nor status changes
+     * Verifies that no count is written
+     */
+    @Test
+    void testRecordChange_WhenNothingChanges_ShouldNotTouchCounts() {
+        // Act
+        departmentStatsService.recordChange(1L, "ACTIVE", 1L, "ACTIVE");
+
+        // Assert
+        verify(statusCountRepository, never()).increment(anyLong(), anyString(), anyLong());
+    }
+
+    /**
+     * Test recordLeaver
+     * Verifies that the leaver's department and status count is decremented
+     */
+    @Test
+    void testRecordLeaver_ShouldDecrementCount() {
+        // Act
+        departmentStatsService.recordLeaver(employee(1L, "SUSPENDED"));
+
+        // Assert
+        verify(statusCountRepository).increment(1L, "SUSPENDED", -1L);
+        verifyNoMoreInteractions(statusCountRepository);
+    }
+
+    /**
+     * Test getStats
+     * Verifies that headcount is summed, empty statuses are skipped and recent hires are limited
+     */
+    @Test
+    void testGetStats_ShouldSumCountsAndIncludeRecentHires() {
+        // Arrange
+        List<RecentHire> recent = List.of(new RecentHire(7L, "Ada", "Obi", LocalDateTime.of(2024, 5, 1, 9, 0)));
+        when(statusCountRepository.findByDepartmentId(1L)).thenReturn(List.of(
+                new DepartmentStatusCount(1L, "SUSPENDED", 2),
+                new DepartmentStatusCount(1L, "ACTIVE", 10),
+                new DepartmentStatusCount(1L, "TERMINATED", 0)));
+        when(employeeRepository.findRecentHires(1L, Limit.of(3))).thenReturn(recent);
+
+        // Act
+        DepartmentStats stats = departmentStatsService.getStats(1L);
+
+        // Assert
+        assertEquals(1L, stats.getDepartmentId());
+        assertEquals(12L, stats.getHeadcount());
+        assertEquals(Map.of("ACTIVE", 10L, "SUSPENDED", 2L), stats.getByStatus());
+        assertEquals(List.of("ACTIVE", "SUSPENDED"), List.copyOf(stats.getByStatus().keySet()));
+        assertEquals(recent, stats.getRecentHires());
+    }
+
+    private static Employee employee(Long departmentId, String status) {
+        Employee employee = new Employee();
+        employee.setDepartmentId(departmentId);
+        employee.setStatus(status);
+        return employee;
+    }
+}
@@ -1,8 +1,20 @@
 package ng.darum.employee.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import ng.darum.commons.dto.UserEvent;
+import ng.darum.employee.component.EmployeeCache;
+import ng.darum.employee.component.ReadYourWrites;
+import ng.darum.employee.component.RequestCoalescer;
+import ng.darum.employee.component.RequesterCache;
+import ng.darum.employee.dto.BatchItemResult;
+import ng.darum.employee.dto.CursorPage;
 import ng.darum.employee.dto.EmployeeRequest;
+import ng.darum.employee.dto.EmployeeResponse;
+import ng.darum.employee.dto.RequesterContext;
 import ng.darum.employee.entity.Employee;
+import ng.darum.employee.enums.ExportFormat;
 import ng.darum.employee.enums.Role;
 import ng.darum.employee.repository.EmployeeRepository;
 import org.junit.jupiter.api.Test;
@@ -11,14 +23,24 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -35,17 +57,50 @@ class EmployeeServiceTest {
     @Mock
     private KafkaProducerService kafkaProducerService;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EmployeeBatchWriter employeeBatchWriter;
+
+    @Mock
+    private DepartmentStatsService departmentStatsService;
+
+    @Mock
+    private EmployeeSearchService employeeSearchService;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Spy
+    private RequesterCache requesterCache = new RequesterCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), 100);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     // Inject mocks into the service being tested
     @InjectMocks
     private EmployeeService employeeService;
 
-    // Captor for capturing Kafka events
+    // Captor for capturing outbox events
     @Captor
     private ArgumentCaptor<UserEvent> userEventCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<UserEvent>> userEventsCaptor;
+
     /**
      * Test createEmployee method with valid EmployeeRequest
-     * Verifies that employee is saved and Kafka event is published
+     * Verifies that employee is saved and its event is written to the outbox
      */
     @Test
     void testCreateEmployee_WithValidRequest_ShouldSaveEmployeeAndPublishEvent() {
@@ -69,8 +124,8 @@ class EmployeeServiceTest {
 
 
 
-        when(employeeRepository.save(any(Employee.class))).thenReturn(employeeToSave);
-        doNothing().when(kafkaProducerService).publishUserCreatedEvent(any(UserEvent.class));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(employeeToSave);
+        doNothing().when(outboxService).enqueueUserCreated(any(UserEvent.class));
 
         // Act
         Employee result = employeeService.createEmployee(employeeRequest);
@@ -83,14 +138,14 @@ class EmployeeServiceTest {
         assertEquals("EMP001", result.getEmployeeId(), "Employee ID should match");
         assertEquals(1L, result.getDepartmentId(), "Department ID should match");
 
-        // Verify Kafka event was published with correct data
-        verify(kafkaProducerService, times(1)).publishUserCreatedEvent(userEventCaptor.capture());
+        // Verify the outbox event was recorded with correct data
+        verify(outboxService, times(1)).enqueueUserCreated(userEventCaptor.capture());
         UserEvent capturedEvent = userEventCaptor.getValue();
         assertEquals("john.doe@company.com", capturedEvent.getEmail(), "Email should match");
         assertEquals("securePassword", capturedEvent.getPassword(), "Password should match");
         assertEquals(Role.ADMIN, capturedEvent.getRole(), "Role should match");
 
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeRepository, times(1)).saveAndFlush(any(Employee.class));
     }
 
     /**
@@ -114,8 +169,8 @@ class EmployeeServiceTest {
         savedEmployee.setEmployeeId("EMP002");
         savedEmployee.setDepartmentId(2L);
 
-        when(employeeRepository.save(any(Employee.class))).thenReturn(savedEmployee);
-        doNothing().when(kafkaProducerService).publishUserCreatedEvent(any(UserEvent.class));
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenReturn(savedEmployee);
+        doNothing().when(outboxService).enqueueUserCreated(any(UserEvent.class));
 
         // Act
         Employee result = employeeService.createEmployee(employeeRequest);
@@ -126,9 +181,47 @@ class EmployeeServiceTest {
         assertEquals("Jane", result.getFirstName(), "First name should match");
         assertEquals("Smith", result.getLastName(), "Last name should match");
 
-        // Verify Kafka event was published (even with null email/password/role)
-        verify(kafkaProducerService, times(1)).publishUserCreatedEvent(any(UserEvent.class));
-        verify(employeeRepository, times(1)).save(any(Employee.class));
+        // Verify the outbox event was recorded (even with null email/password/role)
+        verify(outboxService, times(1)).enqueueUserCreated(any(UserEvent.class));
+        verify(employeeRepository, times(1)).saveAndFlush(any(Employee.class));
+    }
+
+    /**
+     * Test createEmployee method when the email is already taken
+     * Verifies that the unique index violation becomes a conflict and nothing is published
+     */
+    @Test
+    void testCreateEmployee_WhenEmailTaken_ShouldThrowDuplicateKey() {
+        // Arrange
+        EmployeeRequest employeeRequest = EmployeeRequest.builder().email("john.doe@company.com").build();
+        when(employeeRepository.saveAndFlush(any(Employee.class)))
+                .thenThrow(new DataIntegrityViolationException("idx_employees_email"));
+
+        // Act & Assert
+        DuplicateKeyException exception = assertThrows(DuplicateKeyException.class,
+                () -> employeeService.createEmployee(employeeRequest));
+        assertEquals("Employee already exists with this email", exception.getMessage());
+        verify(employeeRepository, never()).existsByEmail(any());
+        verifyNoInteractions(outboxService, departmentStatsService);
+    }
+
+    /**
+     * Test createEmployee method when another constraint is violated
+     * Verifies that only the email index is reported as a duplicate and anything else is rethrown unchanged
+     */
+    @Test
+    void testCreateEmployee_WhenOtherConstraintFails_ShouldRethrowUnchanged() {
+        // Arrange
+        EmployeeRequest employeeRequest = EmployeeRequest.builder().email("john.doe@company.com").build();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "insert or update on table \"employees\" violates foreign key constraint \"fk_employees_department\"");
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenThrow(violation);
+
+        // Act & Assert
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> employeeService.createEmployee(employeeRequest));
+        assertSame(violation, exception);
+        verifyNoInteractions(outboxService, departmentStatsService);
     }
 
     /**
@@ -175,6 +268,7 @@ class EmployeeServiceTest {
 
         verify(employeeRepository, times(1)).findById(employeeId);
         verify(employeeRepository, times(1)).save(existingEmployee);
+        verify(departmentStatsService, times(1)).recordChange(1L, null, 1L, null);
     }
 
     /**
@@ -250,16 +344,20 @@ class EmployeeServiceTest {
     void testDeleteEmployee_WhenEmployeeExists_ShouldDeleteEmployee() {
         // Arrange
         Long employeeId = 1L;
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+        employee.setDepartmentId(2L);
 
-        when(employeeRepository.existsById(employeeId)).thenReturn(true);
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
         doNothing().when(employeeRepository).deleteById(employeeId);
 
         // Act
         employeeService.deleteEmployee(employeeId);
 
         // Assert
-        verify(employeeRepository, times(1)).existsById(employeeId);
+        verify(employeeRepository, times(1)).findById(employeeId);
         verify(employeeRepository, times(1)).deleteById(employeeId);
+        verify(departmentStatsService, times(1)).recordLeaver(employee);
     }
 
     /**
@@ -271,15 +369,16 @@ class EmployeeServiceTest {
         // Arrange
         Long employeeId = 999L;
 
-        when(employeeRepository.existsById(employeeId)).thenReturn(false);
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> employeeService.deleteEmployee(employeeId));
 
         assertEquals("Department does not exist", exception.getMessage());
-        verify(employeeRepository, times(1)).existsById(employeeId);
+        verify(employeeRepository, times(1)).findById(employeeId);
         verify(employeeRepository, never()).deleteById(any(Long.class));
+        verifyNoInteractions(departmentStatsService);
     }
 
     /**
@@ -290,24 +389,21 @@ class EmployeeServiceTest {
     void testFindEmployeeById_WhenEmployeeExists_ShouldReturnEmployee() {
         // Arrange
         Long employeeId = 1L;
-        Employee expectedEmployee = new Employee();
-        expectedEmployee.setId(employeeId);
-        expectedEmployee.setFirstName("John");
-        expectedEmployee.setLastName("Doe");
-        expectedEmployee.setEmployeeId("EMP001");
+        EmployeeResponse expectedEmployee = response(employeeId, "John", "Doe", null);
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(expectedEmployee));
+        when(employeeRepository.findResponseById(employeeId)).thenReturn(Optional.of(expectedEmployee));
 
         // Act
-        Employee result = employeeService.findEmployeeById(employeeId);
+        EmployeeResponse result = employeeService.findEmployeeById(employeeId);
 
         // Assert
         assertNotNull(result, "Result should not be null");
-        assertEquals(employeeId, result.getId(), "Employee ID should match");
-        assertEquals("John", result.getFirstName(), "First name should match");
-        assertEquals("Doe", result.getLastName(), "Last name should match");
+        assertEquals(employeeId, result.id(), "Employee ID should match");
+        assertEquals("John", result.firstName(), "First name should match");
+        assertEquals("Doe", result.lastName(), "Last name should match");
 
-        verify(employeeRepository, times(1)).findById(employeeId);
+        verify(employeeRepository, times(1)).findResponseById(employeeId);
+        verify(employeeRepository, never()).findById(any());
     }
 
     /**
@@ -319,14 +415,14 @@ class EmployeeServiceTest {
         // Arrange
         Long employeeId = 999L;
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
+        when(employeeRepository.findResponseById(employeeId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> employeeService.findEmployeeById(employeeId));
 
         assertEquals("Department not found", exception.getMessage());
-        verify(employeeRepository, times(1)).findById(employeeId);
+        verify(employeeRepository, times(1)).findResponseById(employeeId);
     }
 
     /**
@@ -336,30 +432,23 @@ class EmployeeServiceTest {
     @Test
     void testGetAllEmployees_WhenEmployeesExist_ShouldReturnEmployeeList() {
         // Arrange
-        Employee emp1 = new Employee();
-        emp1.setId(1L);
-        emp1.setFirstName("John");
-        emp1.setLastName("Doe");
-
-        Employee emp2 = new Employee();
-        emp2.setId(2L);
-        emp2.setFirstName("Jane");
-        emp2.setLastName("Smith");
+        List<EmployeeResponse> expectedEmployees = Arrays.asList(
+                response(1L, "John", "Doe", null),
+                response(2L, "Jane", "Smith", null));
 
-        List<Employee> expectedEmployees = Arrays.asList(emp1, emp2);
-
-        when(employeeRepository.findAll()).thenReturn(expectedEmployees);
+        when(employeeRepository.findAllResponses()).thenReturn(expectedEmployees);
 
         // Act
-        List<Employee> result = employeeService.getAllEmployees();
+        List<EmployeeResponse> result = employeeService.getAllEmployees();
 
         // Assert
         assertNotNull(result, "Result should not be null");
         assertEquals(2, result.size(), "Should return 2 employees");
-        assertEquals("John", result.get(0).getFirstName(), "First employee first name should match");
-        assertEquals("Jane", result.get(1).getFirstName(), "Second employee first name should match");
+        assertEquals("John", result.get(0).firstName(), "First employee first name should match");
+        assertEquals("Jane", result.get(1).firstName(), "Second employee first name should match");
 
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).findAllResponses();
+        verify(employeeRepository, never()).findAll();
     }
 
     /**
@@ -369,18 +458,18 @@ class EmployeeServiceTest {
     @Test
     void testGetAllEmployees_WhenNoEmployeesExist_ShouldReturnEmptyList() {
         // Arrange
-        List<Employee> expectedEmployees = List.of();
+        List<EmployeeResponse> expectedEmployees = List.of();
 
-        when(employeeRepository.findAll()).thenReturn(expectedEmployees);
+        when(employeeRepository.findAllResponses()).thenReturn(expectedEmployees);
 
         // Act
-        List<Employee> result = employeeService.getAllEmployees();
+        List<EmployeeResponse> result = employeeService.getAllEmployees();
 
         // Assert
         assertNotNull(result, "Result should not be null");
         assertTrue(result.isEmpty(), "Should return empty list");
 
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).findAllResponses();
     }
 
     /**
@@ -392,32 +481,22 @@ class EmployeeServiceTest {
         // Arrange
         Long departmentId = 1L;
 
-        Employee emp1 = new Employee();
-        emp1.setId(1L);
-        emp1.setFirstName("John");
-        emp1.setLastName("Doe");
-        emp1.setDepartmentId(departmentId);
-
-        Employee emp2 = new Employee();
-        emp2.setId(2L);
-        emp2.setFirstName("Jane");
-        emp2.setLastName("Smith");
-        emp2.setDepartmentId(departmentId);
+        List<EmployeeResponse> expectedEmployees = Arrays.asList(
+                response(1L, "John", "Doe", departmentId),
+                response(2L, "Jane", "Smith", departmentId));
 
-        List<Employee> expectedEmployees = Arrays.asList(emp1, emp2);
-
-        when(employeeRepository.findByDepartmentId(departmentId)).thenReturn(expectedEmployees);
+        when(employeeRepository.findResponsesByDepartmentId(departmentId)).thenReturn(expectedEmployees);
 
         // Act
-        List<Employee> result = employeeService.getDepartmentEmployees(departmentId);
+        List<EmployeeResponse> result = employeeService.getDepartmentEmployees(departmentId);
 
         // Assert
         assertNotNull(result, "Result should not be null");
         assertEquals(2, result.size(), "Should return 2 employees for department");
-        assertTrue(result.stream().allMatch(emp -> departmentId.equals(emp.getDepartmentId())),
+        assertTrue(result.stream().allMatch(emp -> departmentId.equals(emp.departmentId())),
                 "All employees should belong to the specified department");
 
-        verify(employeeRepository, times(1)).findByDepartmentId(departmentId);
+        verify(employeeRepository, times(1)).findResponsesByDepartmentId(departmentId);
     }
 
     /**
@@ -428,17 +507,301 @@ class EmployeeServiceTest {
     void testGetDepartmentEmployees_WhenNoEmployeesExist_ShouldReturnEmptyList() {
         // Arrange
         Long departmentId = 999L;
-        List<Employee> expectedEmployees = List.of();
+        List<EmployeeResponse> expectedEmployees = List.of();
 
-        when(employeeRepository.findByDepartmentId(departmentId)).thenReturn(expectedEmployees);
+        when(employeeRepository.findResponsesByDepartmentId(departmentId)).thenReturn(expectedEmployees);
 
         // Act
-        List<Employee> result = employeeService.getDepartmentEmployees(departmentId);
+        List<EmployeeResponse> result = employeeService.getDepartmentEmployees(departmentId);
 
         // Assert
         assertNotNull(result, "Result should not be null");
         assertTrue(result.isEmpty(), "Should return empty list for department with no employees");
 
-        verify(employeeRepository, times(1)).findByDepartmentId(departmentId);
+        verify(employeeRepository, times(1)).findResponsesByDepartmentId(departmentId);
+    }
+
+    /**
+     * Test getEmployeesPage when more rows exist than the page size
+     * Verifies that the page is trimmed and a cursor to the last row is returned
+     */
+    @Test
+    void testGetEmployeesPage_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Arrange
+        EmployeeResponse emp1 = response(1L, "John", null, null);
+        EmployeeResponse emp2 = response(2L, "Jane", null, null);
+        EmployeeResponse emp3 = response(3L, "Jim", null, null);
+
+        when(employeeRepository.findResponsesAfter(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(emp1, emp2, emp3));
+
+        // Act
+        CursorPage<EmployeeResponse> result = employeeService.getEmployeesPage(null, 2);
+
+        // Assert
+        assertEquals(2, result.getItems().size(), "Page should be trimmed to the requested size");
+        assertEquals(2L, CursorPage.decodeCursor(result.getNextCursor()), "Cursor should point at the last returned row");
+    }
+
+    /**
+     * Test getEmployeesPage with a cursor on the last page
+     * Verifies that the cursor is decoded and no further cursor is returned
+     */
+    @Test
+    void testGetEmployeesPage_OnLastPage_ShouldReturnNoCursor() {
+        // Arrange
+        EmployeeResponse emp = response(5L, "John", null, null);
+
+        when(employeeRepository.findResponsesAfter(4L, Limit.of(EmployeeService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(emp));
+
+        // Act
+        CursorPage<EmployeeResponse> result = employeeService.getEmployeesPage(CursorPage.encodeCursor(4L), null);
+
+        // Assert
+        assertEquals(1, result.getItems().size(), "Should return the remaining employee");
+        assertNull(result.getNextCursor(), "Last page should not carry a cursor");
+    }
+
+    /**
+     * Test getEmployeesPage with an oversized page request
+     * Verifies that the page size is capped
+     */
+    @Test
+    void testGetEmployeesPage_WithOversizedPage_ShouldCapPageSize() {
+        // Arrange
+        when(employeeRepository.findResponsesAfter(eq(0L), any(Limit.class))).thenReturn(List.of());
+
+        // Act
+        employeeService.getEmployeesPage(null, 100_000);
+
+        // Assert
+        verify(employeeRepository).findResponsesAfter(0L, Limit.of(EmployeeService.MAX_PAGE_SIZE + 1));
+    }
+
+    /**
+     * Test getEmployeesPage with a tampered cursor
+     * Verifies that IllegalArgumentException is thrown
+     */
+    @Test
+    void testGetEmployeesPage_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.getEmployeesPage("not-a-cursor", 10));
+        verify(employeeRepository, never()).findResponsesAfter(any(), any());
+    }
+
+    /**
+     * Test exportEmployees in CSV format
+     * Verifies that a header plus one escaped row per employee is written and every row is detached
+     */
+    @Test
+    void testExportEmployees_AsCsv_ShouldWriteHeaderAndEscapedRows() throws Exception {
+        // Arrange
+        Employee emp1 = Employee.builder().id(1L).firstName("John").lastName("Doe, Jr.").build();
+        Employee emp2 = Employee.builder().id(2L).firstName("Jane").lastName("Smith").build();
+        when(employeeRepository.streamAll()).thenReturn(Stream.of(emp1, emp2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        employeeService.exportEmployees(ExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length, "Should write a header and one line per employee");
+        assertEquals("1,,John,\"Doe, Jr.\",,,,,", lines[1], "Values containing commas should be quoted");
+        verify(entityManager).detach(emp1);
+        verify(entityManager).detach(emp2);
+    }
+
+    /**
+     * Test exportEmployees in NDJSON format
+     * Verifies that one JSON document is written per line
+     */
+    @Test
+    void testExportEmployees_AsNdjson_ShouldWriteOneDocumentPerLine() throws Exception {
+        // Arrange
+        Employee emp1 = Employee.builder().id(1L).firstName("John").build();
+        Employee emp2 = Employee.builder().id(2L).firstName("Jane").build();
+        when(employeeRepository.streamAll()).thenReturn(Stream.of(emp1, emp2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        employeeService.exportEmployees(ExportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length, "Should write one line per employee");
+        assertEquals("Jane", objectMapper.readTree(lines[1]).get("firstName").asText());
+        verify(entityManager, times(2)).detach(any(Employee.class));
+    }
+
+    /**
+     * Test createEmployees with a mix of valid and invalid entries
+     * Verifies that valid entries are inserted together, invalid ones are rejected
+     * and one batch of events is published
+     */
+    @Test
+    void testCreateEmployees_WithMixedEntries_ShouldReturnPerItemResults() {
+        // Arrange
+        EmployeeRequest valid = EmployeeRequest.builder().email("a@company.com").firstName("A").role(Role.EMPLOYEE).build();
+        EmployeeRequest existing = EmployeeRequest.builder().email("b@company.com").firstName("B").build();
+        EmployeeRequest noEmail = EmployeeRequest.builder().firstName("C").build();
+        EmployeeRequest duplicate = EmployeeRequest.builder().email("a@company.com").firstName("D").build();
+
+        when(employeeRepository.findExistingEmails(any())).thenReturn(List.of("b@company.com"));
+        when(employeeBatchWriter.insertAll(any())).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            employees.get(0).setId(42L);
+            return employees;
+        });
+
+        // Act
+        List<BatchItemResult> results = employeeService.createEmployees(List.of(valid, existing, noEmail, duplicate));
+
+        // Assert
+        assertEquals(4, results.size(), "Every entry should get a result");
+        assertEquals(BatchItemResult.CREATED, results.get(0).getStatus());
+        assertEquals(42L, results.get(0).getId());
+        assertEquals("Employee already exists with this email", results.get(1).getMessage());
+        assertEquals("Email is required", results.get(2).getMessage());
+        assertEquals("Duplicate email in batch", results.get(3).getMessage());
+
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+        verify(outboxService, times(1)).enqueueUserCreated(userEventsCaptor.capture());
+        assertEquals(1, userEventsCaptor.getValue().size(), "Only created employees should be published");
+        assertEquals(42L, userEventsCaptor.getValue().get(0).getId());
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    /**
+     * Test createEmployees when every entry is rejected
+     * Verifies that nothing is inserted or published
+     */
+    @Test
+    void testCreateEmployees_WhenAllRejected_ShouldNotInsertOrPublish() {
+        // Arrange
+        when(employeeRepository.findExistingEmails(any())).thenReturn(List.of("b@company.com"));
+
+        // Act
+        List<BatchItemResult> results = employeeService.createEmployees(
+                List.of(EmployeeRequest.builder().email("b@company.com").build()));
+
+        // Assert
+        assertEquals(BatchItemResult.REJECTED, results.get(0).getStatus());
+        verify(employeeBatchWriter, never()).insertAll(any());
+        verify(outboxService, never()).enqueueUserCreated(anyList());
+    }
+
+    /**
+     * Test createEmployees with an empty payload
+     * Verifies that IllegalArgumentException is thrown
+     */
+    @Test
+    void testCreateEmployees_WithEmptyPayload_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> employeeService.createEmployees(List.of()));
+        verify(employeeBatchWriter, never()).insertAll(any());
+    }
+
+    /**
+     * Test findEmployeeById called twice for the same ID
+     * Verifies that the second read is served from the cache
+     */
+    @Test
+    void testFindEmployeeById_WhenCalledTwice_ShouldHitDatabaseOnce() {
+        // Arrange
+        when(employeeRepository.findResponseById(1L)).thenReturn(Optional.of(response(1L, "John", null, null)));
+
+        // Act
+        employeeService.findEmployeeById(1L);
+        EmployeeResponse result = employeeService.findEmployeeById(1L);
+
+        // Assert
+        assertEquals("John", result.firstName());
+        verify(employeeRepository, times(1)).findResponseById(1L);
+    }
+
+    /**
+     * Test updateEmployee after a cached read
+     * Verifies that the cached entry is dropped locally and an invalidation is broadcast
+     */
+    @Test
+    void testUpdateEmployee_ShouldInvalidateCachedEmployee() {
+        // Arrange
+        Employee employee = Employee.builder().id(1L).firstName("John").build();
+        when(employeeRepository.findResponseById(1L)).thenReturn(Optional.of(response(1L, "John", null, null)));
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.save(employee)).thenReturn(employee);
+        employeeService.findEmployeeById(1L);
+
+        // Act
+        employeeService.updateEmployee(1L, EmployeeRequest.builder().firstName("Johnny").build());
+        employeeService.findEmployeeById(1L);
+
+        // Assert
+        verify(employeeCache).invalidate(1L);
+        verify(kafkaProducerService).publishEmployeeInvalidated(1L);
+        // projected for the first read and again after invalidation, loaded as an entity only by the update
+        verify(employeeRepository, times(2)).findResponseById(1L);
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * Test findRequester called twice for the same email
+     * Verifies that the second access check is served from the cache
+     */
+    @Test
+    void testFindRequester_WhenCalledTwice_ShouldHitDatabaseOnce() {
+        // Arrange
+        when(employeeRepository.findRequesterByEmail("john@company.com"))
+                .thenReturn(Optional.of(new RequesterContext(1L, 10L)));
+
+        // Act
+        employeeService.findRequester("john@company.com");
+        RequesterContext result = employeeService.findRequester("john@company.com");
+
+        // Assert
+        assertEquals(1L, result.getId());
+        assertEquals(10L, result.getDepartmentId());
+        verify(employeeRepository, times(1)).findRequesterByEmail("john@company.com");
+    }
+
+    /**
+     * Test updateEmployee moving the caller to another department
+     * Verifies that the cached requester context is dropped and reloaded
+     */
+    @Test
+    void testUpdateEmployee_ShouldInvalidateCachedRequester() {
+        // Arrange
+        Employee employee = Employee.builder().id(1L).email("john@company.com").departmentId(10L).build();
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.save(employee)).thenReturn(employee);
+        when(employeeRepository.findRequesterByEmail("john@company.com"))
+                .thenReturn(Optional.of(new RequesterContext(1L, 10L)))
+                .thenReturn(Optional.of(new RequesterContext(1L, 20L)));
+        employeeService.findRequester("john@company.com");
+
+        // Act
+        employeeService.updateEmployee(1L, EmployeeRequest.builder().departmentId(20L).build());
+        RequesterContext result = employeeService.findRequester("john@company.com");
+
+        // Assert
+        assertEquals(20L, result.getDepartmentId());
+        verify(requesterCache).invalidateEmployee(1L);
+        verify(employeeRepository, times(2)).findRequesterByEmail("john@company.com");
+    }
+
+    /**
+     * Test findRequester with an unknown email
+     * Verifies that IllegalArgumentException is thrown
+     */
+    @Test
+    void testFindRequester_WithUnknownEmail_ShouldThrowException() {
+        when(employeeRepository.findRequesterByEmail("ghost@company.com")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.findRequester("ghost@company.com"));
+    }
+
+    private static EmployeeResponse response(Long id, String firstName, String lastName, Long departmentId) {
+        return new EmployeeResponse(id, null, null, null, firstName, lastName, null, departmentId, null, null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package ng.darum.employee.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ng.darum.commons.dto.UserEvent;
+import ng.darum.employee.component.OutboxCipher;
+import ng.darum.employee.entity.OutboxEvent;
+import ng.darum.employee.enums.Role;
+import ng.darum.employee.repository.OutboxEventRepository;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OutboxRelay
+ * Uses Mockito to check ordering, acknowledgement, retry and parking behaviour
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final OutboxCipher outboxCipher = new OutboxCipher("test-outbox-secret");
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaProducerService, objectMapper, transactionTemplate,
+                outboxCipher);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private OutboxEvent outboxEvent(long id, String email) throws Exception {
+        UserEvent event = UserEvent.builder().id(id).email(email).role(Role.EMPLOYEE).build();
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("user-created")
+                .eventKey(String.valueOf(id))
+                .payload(objectMapper.writeValueAsString(event))
+                .build();
+    }
+
+    /**
+     * Test relayBatch with pending events
+     * Verifies that events are claimed, sent in seq order and deleted once acknowledged
+     */
+    @Test
+    void testRelayBatch_WhenAllSendsSucceed_ShouldSendInOrderAndDelete() throws Exception {
+        // Arrange
+        List<OutboxEvent> batch = List.of(outboxEvent(1L, "a@company.com"), outboxEvent(2L, "b@company.com"));
+        when(outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(2))).thenReturn(batch);
+        when(kafkaProducerService.send(eq("user-created"), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(2, relayed);
+        ArgumentCaptor<UserEvent> sent = ArgumentCaptor.forClass(UserEvent.class);
+        InOrder inOrder = inOrder(kafkaProducerService, outboxEventRepository);
+        inOrder.verify(outboxEventRepository).claim(eq(List.of(1L, 2L)), any());
+        inOrder.verify(kafkaProducerService, times(2)).send(eq("user-created"), any(), sent.capture());
+        inOrder.verify(kafkaProducerService).flush();
+        inOrder.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(List.of(1L, 2L), sent.getAllValues().stream().map(UserEvent::getId).toList());
+    }
+
+    /**
+     * Test relayBatch with an event whose password was stored encrypted
+     * Verifies that the published event carries the original password
+     */
+    @Test
+    void testRelayBatch_ShouldDecryptPasswordBeforeSending() throws Exception {
+        // Arrange
+        UserEvent stored = UserEvent.builder().id(1L).email("a@company.com").password(outboxCipher.seal("secret")).build();
+        OutboxEvent event = OutboxEvent.builder().id(1L).topic("user-created").eventKey("1")
+                .payload(objectMapper.writeValueAsString(stored)).build();
+        when(outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(2))).thenReturn(List.of(event));
+        when(kafkaProducerService.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        outboxRelay.relayBatch();
+
+        // Assert
+        ArgumentCaptor<UserEvent> sent = ArgumentCaptor.forClass(UserEvent.class);
+        verify(kafkaProducerService).send(eq("user-created"), eq("1"), sent.capture());
+        assertEquals("secret", sent.getValue().getPassword());
+    }
+
+    /**
+     * Test relayBatch when the broker rejects one record for good
+     * Verifies that the rest of the batch is deleted and the rejected event is released with an attempt counted
+     */
+    @Test
+    void testRelayBatch_WhenBrokerRejectsOneEvent_ShouldCountAttemptAndDeleteTheRest() throws Exception {
+        // Arrange
+        OutboxEvent rejected = outboxEvent(1L, "a@company.com");
+        OutboxEvent accepted = outboxEvent(2L, "b@company.com");
+        when(outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(2))).thenReturn(List.of(rejected, accepted));
+        when(outboxEventRepository.findAllById(anyCollection())).thenReturn(List.of(rejected));
+        when(kafkaProducerService.send(any(), eq("1"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException("too large")));
+        when(kafkaProducerService.send(any(), eq("2"), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(1, relayed);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+        assertEquals(1, rejected.getAttempts());
+        assertNull(rejected.getClaimedUntil());
+        assertNull(rejected.getParkedAt());
+        assertTrue(rejected.getLastError().contains("too large"));
+    }
+
+    /**
+     * Test relayBatch when an event fails for the last allowed time
+     * Verifies that the event is parked
+     */
+    @Test
+    void testRelayBatch_WhenAttemptsRunOut_ShouldPark() throws Exception {
+        // Arrange
+        OutboxEvent rejected = outboxEvent(1L, "a@company.com");
+        rejected.setAttempts(2);
+        when(outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(2))).thenReturn(List.of(rejected));
+        when(outboxEventRepository.findAllById(anyCollection())).thenReturn(List.of(rejected));
+        when(kafkaProducerService.send(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException("too large")));
+
+        // Act
+        outboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(3, rejected.getAttempts());
+        assertNotNull(rejected.getParkedAt());
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    /**
+     * Test relayBatch with a payload that cannot be read
+     * Verifies that the other events are still sent and the unreadable one counts an attempt
+     */
+    @Test
+    void testRelayBatch_WhenPayloadUnreadable_ShouldSendTheRest() throws Exception {
+        // Arrange
+        OutboxEvent unreadable = OutboxEvent.builder().id(1L).topic("user-created").eventKey("1").payload("{not json").build();
+        OutboxEvent readable = outboxEvent(2L, "b@company.com");
+        when(outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(2))).thenReturn(List.of(unreadable, readable));
+        when(outboxEventRepository.findAllById(anyCollection())).thenReturn(List.of(unreadable));
+        when(kafkaProducerService.send(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        outboxRelay.relayBatch();
+
+        // Assert
+        verify(kafkaProducerService, times(1)).send(any(), eq("2"), any());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+        assertEquals(1, unreadable.getAttempts());
+    }
+
+    /**
+     * Test relayBatch when the broker is unreachable
+     * Verifies that timeouts release the events without counting attempts, so an outage parks nothing
+     */
+    @Test
+    void testRelayBatch_WhenSendTimesOut_ShouldRetryWithoutCountingAttempts() throws Exception {
+        // Arrange
+        OutboxEvent event = outboxEvent(1L, "a@company.com");
+        event.setAttempts(2);
+        when(outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(2))).thenReturn(List.of(event));
+        when(outboxEventRepository.findAllById(anyCollection())).thenReturn(List.of(event));
+        when(kafkaProducerService.send(any(), any(), any())).thenReturn(new CompletableFuture<>());
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofMillis(10));
+
+        // Act
+        int relayed = outboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(0, relayed);
+        assertEquals(2, event.getAttempts());
+        assertNull(event.getParkedAt());
+        assertNull(event.getClaimedUntil());
+    }
+
+    /**
+     * Test relayBatch while another relay has a batch in flight
+     * Verifies that nothing is claimed or sent
+     */
+    @Test
+    void testRelayBatch_WhenClaimedByAnotherRelay_ShouldDoNothing() throws Exception {
+        // Arrange
+        OutboxEvent event = outboxEvent(1L, "a@company.com");
+        event.setClaimedUntil(LocalDateTime.now().plusMinutes(1));
+        when(outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(2))).thenReturn(List.of(event));
+
+        // Act & Assert
+        assertEquals(0, outboxRelay.relayBatch());
+        verify(outboxEventRepository, never()).claim(anyCollection(), any());
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    /**
+     * Test relayBatch with an empty outbox
+     * Verifies that nothing is sent
+     */
+    @Test
+    void testRelayBatch_WhenOutboxEmpty_ShouldDoNothing() {
+        when(outboxEventRepository.findByParkedAtIsNullOrderBySeqAsc(Limit.of(2))).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+        verifyNoInteractions(kafkaProducerService);
+    }
+}
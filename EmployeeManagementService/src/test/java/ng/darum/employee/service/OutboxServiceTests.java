@@ -0,0 +1,76 @@
+package ng.darum.employee.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ng.darum.commons.dto.UserEvent;
+import ng.darum.employee.component.OutboxCipher;
+import ng.darum.employee.entity.OutboxEvent;
+import ng.darum.employee.enums.Role;
+import ng.darum.employee.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OutboxService
+ * Verifies how events are keyed and what is written to the outbox table
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final OutboxCipher outboxCipher = new OutboxCipher("test-outbox-secret");
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxEventRepository, objectMapper, outboxCipher);
+        ReflectionTestUtils.setField(outboxService, "userCreatedTopic", "user-created");
+        ReflectionTestUtils.setField(outboxService, "userDeletedTopic", "user-deleted");
+    }
+
+    /**
+     * Test enqueueUserCreated with a password
+     * Verifies that the event is keyed by employee id and the password is stored encrypted
+     */
+    @Test
+    void testEnqueueUserCreated_ShouldKeyByIdAndEncryptPassword() throws Exception {
+        // Act
+        outboxService.enqueueUserCreated(UserEvent.builder()
+                .id(7L).email("john@company.com").password("secret").role(Role.EMPLOYEE).build());
+
+        // Assert
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(saved.capture());
+        assertEquals("7", saved.getValue().getEventKey());
+        assertFalse(saved.getValue().getPayload().contains("secret"));
+        UserEvent stored = objectMapper.readValue(saved.getValue().getPayload(), UserEvent.class);
+        assertEquals("secret", outboxCipher.open(stored.getPassword()));
+    }
+
+    /**
+     * Test enqueueUserDeleted, which carries no email
+     * Verifies that the delete shares the employee's key with its create and updates
+     */
+    @Test
+    void testEnqueueUserDeleted_ShouldKeyById() {
+        // Act
+        outboxService.enqueueUserDeleted(UserEvent.builder().id(7L).build());
+
+        // Assert
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(saved.capture());
+        assertEquals("7", saved.getValue().getEventKey());
+    }
+}
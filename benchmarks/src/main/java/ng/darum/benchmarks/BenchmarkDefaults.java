@@ -0,0 +1,15 @@
+package ng.darum.benchmarks;
+
+/**
+ * Values shared by the benchmarks, taken from the local config repository
+ * so the measured work matches what the services do at runtime.
+ */
+final class BenchmarkDefaults {
+
+    static final String JWT_SECRET = "abcdefghijklmnopqrstuvxyz1234567890";
+    static final long JWT_EXPIRATION_MS = 86_400_000L;
+    static final String INTERNAL_AUTH_SECRET = "internal-abcdefghijklmnopqrstuvwxyz0123456789";
+
+    private BenchmarkDefaults() {
+    }
+}
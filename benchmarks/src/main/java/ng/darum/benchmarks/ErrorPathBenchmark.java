@@ -0,0 +1,60 @@
+package ng.darum.benchmarks;
+
+import ng.darum.employee.controllers.BaseController;
+import ng.darum.employee.dto.ErrorResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BaseController.handleException, the path every failed request takes.
+ * The error log still formats and prints the stack trace; only stderr is
+ * redirected to a discarding stream so the benchmark output stays readable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private ErrorController controller;
+    private MockHttpServletRequest request;
+    private PrintStream originalErr;
+
+    @Setup
+    public void setUp() {
+        controller = new ErrorController();
+        request = new MockHttpServletRequest("GET", "/employees/42");
+        originalErr = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setErr(originalErr);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return controller.fail(new RuntimeException("Employee not found"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> accessDenied() {
+        return controller.fail(new AccessDeniedException("You can't access this employee's info"), request);
+    }
+
+    /** Exposes the inherited error handling to the benchmark */
+    static class ErrorController extends BaseController {
+        ResponseEntity<ErrorResponse> fail(Exception e, MockHttpServletRequest request) {
+            return handleException(e, request, "FIND_EMPLOYEE_BY_ID");
+        }
+    }
+}
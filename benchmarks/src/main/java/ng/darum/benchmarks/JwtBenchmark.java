@@ -0,0 +1,130 @@
+package ng.darum.benchmarks;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import ng.darum.auth.components.JwtUtil;
+import ng.darum.auth.config.JwtProperties;
+import jakarta.servlet.FilterChain;
+import ng.darum.auth.enums.Role;
+import ng.darum.employee.component.JwtKeySet;
+import ng.darum.employee.component.TrustedClaimsFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue in auth-service (login) and token verification in auth-service and
+ * employee-service (every authorised request), in tokens per second.
+ * The perCall* benchmarks reproduce the previous JwtUtil, which derived the key
+ * and built a parser on every call, as the baseline for the cached key ring.
+ * employee-service's decoder is built as in its SecurityConfig, selecting the
+ * key by kid from a JwtKeySet over jwt.secret;
+ * employeeTrustedContext is the gateway fast path that replaces it per hop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SUBJECT = "jane.doe@company.com";
+
+    private JwtUtil authJwtUtil;
+    private JwtDecoder employeeJwtDecoder;
+    private String token;
+    private TrustedClaimsFilter trustedClaimsFilter;
+    private String trustedContext;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(BenchmarkDefaults.JWT_SECRET);
+        properties.setExpiration(BenchmarkDefaults.JWT_EXPIRATION_MS);
+        authJwtUtil = new JwtUtil(properties);
+
+        JwtKeySet jwtKeySet = new JwtKeySet(new MockEnvironment().withProperty("jwt.secret", BenchmarkDefaults.JWT_SECRET));
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, jwtKeySet));
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        employeeJwtDecoder = new NimbusJwtDecoder(processor);
+
+        token = authJwtUtil.generateToken(SUBJECT, Role.MANAGER, 42L);
+
+        trustedClaimsFilter = new TrustedClaimsFilter(BenchmarkDefaults.INTERNAL_AUTH_SECRET);
+        trustedContext = trustedContext(SUBJECT + "\nMANAGER\n42\n" + (System.currentTimeMillis() / 1000 + 3600));
+    }
+
+    @Benchmark
+    public String authGenerateToken() {
+        return authJwtUtil.generateToken(SUBJECT, Role.MANAGER, 42L);
+    }
+
+    @Benchmark
+    public String authGenerateTokenPerCallKey() {
+        return Jwts.builder()
+                .subject(SUBJECT)
+                .claim("role", List.of(Role.MANAGER.getAuthority()))
+                .claim("empId", 42L)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + BenchmarkDefaults.JWT_EXPIRATION_MS))
+                .signWith(Keys.hmacShaKeyFor(BenchmarkDefaults.JWT_SECRET.getBytes()), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public boolean authValidateToken() {
+        return authJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Object authValidateTokenPerCallParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(BenchmarkDefaults.JWT_SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Jwt employeeDecodeToken() {
+        return employeeJwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public int employeeTrustedContext() throws Exception {
+        // A fresh request each time: OncePerRequestFilter skips requests it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/1");
+        request.addHeader(TrustedClaimsFilter.HEADER, trustedContext);
+        trustedClaimsFilter.doFilter(request, response, chain);
+        return response.getStatus();
+    }
+
+    private static String trustedContext(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(BenchmarkDefaults.INTERNAL_AUTH_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(bytes) + "." + encoder.encodeToString(mac.doFinal(bytes));
+    }
+}
@@ -0,0 +1,104 @@
+package ng.darum.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ng.darum.commons.dto.ServerResponse;
+import ng.darum.commons.dto.UserEvent;
+import ng.darum.employee.dto.EmployeeResponse;
+import ng.darum.employee.entity.Employee;
+import ng.darum.employee.enums.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of a keyset page of employees, as returned by
+ * GET /employees (EmployeeResponse records, next to the entities it used to
+ * return), and of the UserEvent published to Kafka.
+ * The mapper is configured like Spring Boot's default one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"50", "200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ServerResponse<List<Employee>> page;
+    private ServerResponse<List<EmployeeResponse>> responsePage;
+    private UserEvent event;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Employee> employees = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            employees.add(Employee.builder()
+                    .id((long) i)
+                    .userId((long) i)
+                    .email("employee" + i + "@company.com")
+                    .employeeId("EMP" + i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .status("ACTIVE")
+                    .departmentId((long) (i % 10))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        page = ServerResponse.<List<Employee>>builder()
+                .status("success")
+                .message("Employees retrieved successfully")
+                .data(employees)
+                .nextCursor("aWQ6NTA")
+                .timestamp(ZonedDateTime.now())
+                .build();
+        responsePage = ServerResponse.<List<EmployeeResponse>>builder()
+                .status("success")
+                .message("Employees retrieved successfully")
+                .data(employees.stream()
+                        .map(e -> new EmployeeResponse(e.getId(), e.getUserId(), e.getEmail(), e.getEmployeeId(),
+                                e.getFirstName(), e.getLastName(), e.getStatus(), e.getDepartmentId(),
+                                e.getCreatedAt(), e.getUpdatedAt()))
+                        .toList())
+                .nextCursor("aWQ6NTA")
+                .timestamp(ZonedDateTime.now())
+                .build();
+
+        event = UserEvent.builder()
+                .id(1L)
+                .email("jane.doe@company.com")
+                .password("securePassword")
+                .role(Role.MANAGER)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] employeePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] employeeResponsePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responsePage);
+    }
+
+    @Benchmark
+    public byte[] userEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+}
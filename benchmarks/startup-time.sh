@@ -0,0 +1,43 @@
+#!/usr/bin/env sh
+# Time from launching a service to its first successful response.
+#
+#   benchmarks/startup-time.sh <url> <java arguments...>
+#
+# Starts "java <java arguments>", polls <url> every 50 ms, prints the elapsed
+# milliseconds once it answers 2xx and stops the service. Run it against the
+# same infrastructure (docker-compose up postgres kafka config-server ...) for
+# the plain and the -Pcds build, e.g. for employee-service:
+#
+#   benchmarks/startup-time.sh http://localhost:8081/actuator/health \
+#       -jar EmployeeManagementService/target/employee-service-0.0.1-SNAPSHOT-exec.jar
+#   benchmarks/startup-time.sh http://localhost:8081/actuator/health \
+#       -XX:SharedArchiveFile=EmployeeManagementService/target/cds/app.jsa -Dspring.aot.enabled=true \
+#       -jar EmployeeManagementService/target/cds/app.jar
+
+set -u
+
+if [ $# -lt 2 ]; then
+    echo "usage: $0 <url> <java arguments...>" >&2
+    exit 2
+fi
+url=$1
+shift
+
+now_ms() {
+    date +%s%3N
+}
+
+start=$(now_ms)
+java "$@" > startup-time.log 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null' EXIT
+
+until curl -fs -o /dev/null "$url"; do
+    if ! kill -0 $pid 2>/dev/null; then
+        echo "service exited before answering, see startup-time.log" >&2
+        exit 1
+    fi
+    sleep 0.05
+done
+
+echo "first response after $(( $(now_ms) - start )) ms"